@@ -0,0 +1,383 @@
+/**
+ * Copyright (c) 2021, JuiFX All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met: *
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer. * Redistributions in binary
+ * form must reproduce the above copyright notice, this list of conditions and
+ * the following disclaimer in the documentation and/or other materials provided
+ * with the distribution. * Neither the name of JuiFX, any associated website,
+ * nor the names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL JUIFX BE LIABLE FOR ANY DIRECT, INDIRECT,
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jhenly.juifx.animation;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+
+import com.jhenly.juifx.control.applier.FillApplier;
+
+
+/**
+ * A fill transition that drives any number of {@link FillApplier} instances
+ * from a single clock.
+ * <p>
+ * Synchronizing the fills of many controls, e.g. the cells of a hovered table
+ * row, via {@link FillApplier#attach(FillApplier)} leaves every control with
+ * its own transition. A {@code FillGroup} instead is one {@code Animation},
+ * each pulse it interpolates and applies the fill of every member in a single
+ * loop over a dense array:
+ * <pre>
+ * FillGroup rowFill = new FillGroup();
+ * cells.forEach(cell -&gt; rowFill.add(cell.getFillableSkin().getFillApplier()));
+ * row.setOnMouseEntered(e -&gt; rowFill.playForward());
+ * row.setOnMouseExited(e -&gt; rowFill.playBackward());</pre>
+ * <p>
+ * Membership is weak, a {@code FillGroup} does not keep its members from
+ * being garbage collected, collected members are dropped from the group the
+ * next time it is applied. Members are compared by identity, even if a
+ * {@code FillApplier} implementation overrides {@code equals}.
+ * <p>
+ * <b>Note:</b> a {@code FillGroup} does not stop its members' own
+ * transitions, a member that is also filled by its skin's transition will be
+ * filled by both.
+ * 
+ * @author Jonathan Henly
+ * @since JuiFX 1.0
+ */
+public class FillGroup extends JuiFillTransition {
+    
+    /**************************************************************************
+     *                                                                        *
+     * Private Members                                                        *
+     *                                                                        *
+     *************************************************************************/
+    
+    private static final Member[] EMPTY = new Member[0];
+    
+    // identity index of the members, keyed on the members themselves and
+    // probed via 'Probe', so an applier that overrides equals is still only
+    // ever equal to itself
+    private final HashMap<Object, Member> index = new HashMap<>();
+    // the members, densely packed in [0, size)
+    private Member[] members = EMPTY;
+    private int size;
+    
+    
+    /**************************************************************************
+     *                                                                        *
+     * Constructor(s)                                                         *
+     *                                                                        *
+     *************************************************************************/
+    
+    /**
+     * Creates an empty {@code FillGroup}.
+     */
+    public FillGroup() {}
+    
+    /**
+     * Creates a {@code FillGroup} with the specified members.
+     * @param appliers - the {@code FillApplier} instances to add to the group
+     */
+    public FillGroup(FillApplier<?>... appliers) {
+        if (appliers == null) { return; }
+        
+        ensureCapacity(appliers.length);
+        for (FillApplier<?> applier : appliers) {
+            add(applier);
+        }
+    }
+    
+    
+    /**************************************************************************
+     *                                                                        *
+     * Public API                                                             *
+     *                                                                        *
+     *************************************************************************/
+    
+    /**
+     * Adds a {@code FillApplier} to this group.
+     * 
+     * @param applier - the {@code FillApplier} to add
+     * @return {@code true} if the {@code FillApplier} was added, or
+     *         {@code false} if it is {@code null} or already a member
+     */
+    public final boolean add(FillApplier<?> applier) {
+        if (applier == null || index.containsKey(new Probe(applier))) { return false; }
+        
+        ensureCapacity(size + 1);
+        
+        final Member member = new Member(applier, size);
+        members[size++] = member;
+        index.put(member, member);
+        
+        return true;
+    }
+    
+    /**
+     * Adds all of the specified {@code FillApplier} instances to this group.
+     * 
+     * @param appliers - the {@code FillApplier} instances to add
+     * @return {@code true} if any {@code FillApplier} was added, otherwise
+     *         {@code false}
+     */
+    public final boolean addAll(Collection<? extends FillApplier<?>> appliers) {
+        if (appliers == null) { return false; }
+        
+        final int preAddSize = size;
+        
+        // grow once, rather than once per doubling
+        ensureCapacity(size + appliers.size());
+        for (FillApplier<?> applier : appliers) {
+            add(applier);
+        }
+        
+        return size != preAddSize;
+    }
+    
+    /**
+     * Removes a {@code FillApplier} from this group.
+     * 
+     * @param applier - the {@code FillApplier} to remove
+     * @return {@code true} if the {@code FillApplier} was a member, otherwise
+     *         {@code false}
+     */
+    public final boolean remove(FillApplier<?> applier) {
+        if (applier == null) { return false; }
+        
+        final Member member = index.remove(new Probe(applier));
+        if (member == null) { return false; }
+        
+        removeAt(member.pos);
+        return true;
+    }
+    
+    /**
+     * Removes all of the specified {@code FillApplier} instances from this
+     * group.
+     * 
+     * @param appliers - the {@code FillApplier} instances to remove
+     * @return {@code true} if any {@code FillApplier} was removed, otherwise
+     *         {@code false}
+     */
+    public final boolean removeAll(Collection<? extends FillApplier<?>> appliers) {
+        if (appliers == null) { return false; }
+        
+        final int preRemoveSize = size;
+        
+        for (FillApplier<?> applier : appliers) {
+            remove(applier);
+        }
+        
+        return size != preRemoveSize;
+    }
+    
+    /**
+     * Gets whether or not a {@code FillApplier} is a member of this group.
+     * 
+     * @param applier - the {@code FillApplier} to check
+     * @return {@code true} if the {@code FillApplier} is a member, otherwise
+     *         {@code false}
+     */
+    public final boolean contains(FillApplier<?> applier) {
+        return applier != null && index.containsKey(new Probe(applier));
+    }
+    
+    /**
+     * Gets the number of members in this group, which may include members
+     * that have been garbage collected but not yet dropped.
+     * @return the number of members
+     */
+    public final int size() { return size; }
+    
+    /**
+     * Removes all members from this group.
+     */
+    public final void clear() {
+        Arrays.fill(members, 0, size, null);
+        index.clear();
+        size = 0;
+    }
+    
+    /**
+     * Interpolates and applies the fill of every member of this group.
+     * <p>
+     * <b>Note:</b> this method must not be called by implementing classes
+     * directly.
+     * 
+     * @param frac - the current position in the animation
+     */
+    @Override
+    protected void interpolate(double frac) {
+        // iterate backwards, so dropping a collected member only moves an
+        // already applied member into its index
+        for (int i = size - 1; i >= 0; i--) {
+            final FillApplier<?> applier = members[i].get();
+            
+            if (applier == null) {
+                dropCollected(i);
+            } else {
+                applier.interpolateAndApply(frac);
+            }
+        }
+    }
+    
+    /**
+     * Resets every member of this group to its pre-fill state.
+     */
+    @Override
+    protected void resetFillable() {
+        for (int i = size - 1; i >= 0; i--) {
+            final FillApplier<?> applier = members[i].get();
+            
+            if (applier == null) {
+                dropCollected(i);
+            } else {
+                applier.resetFillable();
+            }
+        }
+    }
+    
+    /**
+     * Retargets every member of this group.
+     * 
+     * @param forward - {@code true} to retarget to the fill-to paints,
+     *        {@code false} to retarget to the fill-from paints
+     * @return {@code true} if any member was retargeted, otherwise
+     *         {@code false}
+     */
+    @Override
+    protected boolean retargetFillable(boolean forward) {
+        boolean retargeted = false;
+        
+        for (int i = size - 1; i >= 0; i--) {
+            final FillApplier<?> applier = members[i].get();
+            
+            if (applier == null) {
+                dropCollected(i);
+            } else {
+                retargeted |= applier.retarget(forward);
+            }
+        }
+        
+        return retargeted;
+    }
+    
+    /**
+     * Ends the retarget of every member of this group.
+     */
+    @Override
+    protected void endRetarget() {
+        for (int i = size - 1; i >= 0; i--) {
+            final FillApplier<?> applier = members[i].get();
+            if (applier != null) { applier.endRetarget(); }
+        }
+    }
+    
+    /**
+     * Stops this group and removes all of its members.
+     * <p>
+     * Though calling dispose twice has no effect, any other methods called
+     * after dispose will exhibit undefined behavior.
+     */
+    @Override
+    public void dispose() {
+        super.dispose();
+        clear();
+    }
+    
+    
+    /**************************************************************************
+     *                                                                        *
+     * Private Implementation                                                 *
+     *                                                                        *
+     *************************************************************************/
+    
+    private void ensureCapacity(int capacity) {
+        if (capacity > members.length) {
+            members = Arrays.copyOf(members, Math.max(capacity, members.length * 2));
+        }
+    }
+    
+    /** Drops the collected member at the specified index. */
+    private void dropCollected(int i) {
+        // a collected member is only equal to itself, its hash is kept
+        index.remove(members[i]);
+        removeAt(i);
+    }
+    
+    /** Moves the last member into the specified index. */
+    private void removeAt(int i) {
+        final int last = --size;
+        
+        if (i != last) {
+            final Member moved = members[last];
+            members[i] = moved;
+            moved.pos = i;
+        }
+        
+        members[last] = null;
+    }
+    
+    /**
+     * A weakly referenced member and its index in the dense array. Members
+     * are equal if they reference the same applier, a collected member is
+     * only equal to itself.
+     */
+    private static final class Member extends WeakReference<FillApplier<?>> {
+        private final int hash;
+        private int pos;
+        
+        Member(FillApplier<?> applier, int pos) {
+            super(applier);
+            hash = System.identityHashCode(applier);
+            this.pos = pos;
+        }
+        
+        @Override
+        public int hashCode() { return hash; }
+        
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) { return true; }
+            
+            final FillApplier<?> applier = get();
+            if (applier == null) { return false; }
+            
+            if (obj instanceof Member) { return ((Member) obj).get() == applier; }
+            if (obj instanceof Probe) { return ((Probe) obj).applier == applier; }
+            
+            return false;
+        }
+    }
+    
+    /** Looks up the member of an applier by the applier's identity. */
+    private static final class Probe {
+        private final FillApplier<?> applier;
+        
+        Probe(FillApplier<?> applier) { this.applier = applier; }
+        
+        @Override
+        public int hashCode() { return System.identityHashCode(applier); }
+        
+        @Override
+        public boolean equals(Object obj) {
+            return obj == this || (obj instanceof Member && ((Member) obj).get() == applier);
+        }
+    }
+    
+}
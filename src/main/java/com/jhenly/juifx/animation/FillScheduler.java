@@ -0,0 +1,316 @@
+/**
+ * Copyright (c) 2021, JuiFX All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met: *
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer. * Redistributions in binary
+ * form must reproduce the above copyright notice, this list of conditions and
+ * the following disclaimer in the documentation and/or other materials provided
+ * with the distribution. * Neither the name of JuiFX, any associated website,
+ * nor the names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL JUIFX BE LIABLE FOR ANY DIRECT, INDIRECT,
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jhenly.juifx.animation;
+
+import java.util.Arrays;
+
+import javafx.animation.AnimationTimer;
+
+
+/**
+ * Class for running all playing {@link JuiFillTransition} instances from a
+ * single {@code AnimationTimer}.
+ * <p>
+ * By default every {@code JuiFillTransition} plays as its own
+ * {@code Animation}, each registered with the toolkit's master timer, so a
+ * sweep of the mouse over a screen of fill buttons starts dozens of
+ * independent animations. When the scheduler is enabled, fill transitions
+ * started via {@link JuiFillTransition#playForward()} or
+ * {@link JuiFillTransition#playBackward()} are instead kept in a dense array
+ * of active transitions, which one {@code AnimationTimer} advances each pulse.
+ * The timer only runs while there are active transitions. Like an
+ * animation, a transition starts at the first pulse after it is played, even
+ * if the timer is already running. Per pulse, driving transitions from the
+ * scheduler costs about the same as driving them as individual animations,
+ * the scheduler mainly keeps the master timer down to one receiver.
+ * <p>
+ * The scheduler is disabled by default, it can be enabled via
+ * {@link #enable()}. Disabling the scheduler does not affect transitions it
+ * is already running, they finish on the scheduler unless they are played
+ * again. The scheduler must only be used on the JavaFX Application Thread.
+ * <p>
+ * Regardless of whether the scheduler is enabled, it can also coalesce the
+ * direction requests made via {@link JuiFillTransition#requestForward()} and
+ * {@link JuiFillTransition#requestBackward()}. Requests are then recorded per
+ * transition and settled once, at the start of the next pulse, so a storm of
+ * hover events only plays each transition in its last requested direction.
+ * Coalescing is disabled by default, it can be enabled via
+ * {@link #enableCoalescing()}. Only a transition that sees several requests
+ * within a pulse gains from it, and while the scheduler is disabled every
+ * request waits an extra pulse before its transition plays.
+ *
+ * @author Jonathan Henly
+ * @since JuiFX 1.0
+ */
+public final class FillScheduler {
+    
+    /**************************************************************************
+     *                                                                        *
+     * Static Members                                                         *
+     *                                                                        *
+     *************************************************************************/
+    
+    // used to indicate if the scheduler is enabled or not
+    private static boolean isEnabled = false;
+    // used to indicate if direction requests are coalesced or not
+    private static boolean isCoalescing = false;
+    
+    
+    /**************************************************************************
+     *                                                                        *
+     * Public API                                                             *
+     *                                                                        *
+     *************************************************************************/
+    
+    /**
+     * Gets whether or not fill transitions are run by the scheduler.
+     *
+     * @return {@code true} if the scheduler is enabled, otherwise
+     *         {@code false}
+     */
+    public static boolean isEnabled() { return isEnabled; }
+    
+    /**
+     * Enables the scheduler, fill transitions played from now on are run by
+     * the scheduler.
+     */
+    public static void enable() { isEnabled = true; }
+    
+    /**
+     * Disables the scheduler, fill transitions played from now on are run as
+     * individual animations.
+     */
+    public static void disable() { isEnabled = false; }
+    
+    /**
+     * Gets whether or not direction requests are coalesced and settled on the
+     * next pulse.
+     *
+     * @return {@code true} if direction requests are coalesced, otherwise
+     *         {@code false}
+     */
+    public static boolean isCoalescing() { return isCoalescing; }
+    
+    /**
+     * Enables coalescing, direction requests made from now on are settled on
+     * the next pulse.
+     */
+    public static void enableCoalescing() { isCoalescing = true; }
+    
+    /**
+     * Disables coalescing, direction requests made from now on play their
+     * transition immediately. Requests already made are still settled on the
+     * next pulse.
+     */
+    public static void disableCoalescing() { isCoalescing = false; }
+    
+    /**
+     * Gets the number of fill transitions currently run by the scheduler.
+     * @return the number of active fill transitions
+     */
+    public static int getActiveCount() { return getScheduler().size; }
+    
+    /**
+     * Gets the number of direction requests coalesced since the application
+     * started.
+     * @return the number of direction requests
+     */
+    public static long getRequestCount() { return getScheduler().requests; }
+    
+    /**
+     * Gets the number of direction requests settled since the application
+     * started, requests superseded within a pulse are only settled once.
+     * @return the number of settled direction requests
+     */
+    public static long getSettledCount() { return getScheduler().settled; }
+    
+    
+    /**************************************************************************
+     *                                                                        *
+     * Package Private API                                                    *
+     *                                                                        *
+     *************************************************************************/
+    
+    /**
+     * Adds a fill transition to the active set, if it is not already active.
+     * @param trans - the fill transition to run
+     */
+    static void schedule(JuiFillTransition trans) { getScheduler().add(trans); }
+    
+    /**
+     * Removes a fill transition from the active set, if it is active.
+     * @param trans - the fill transition to stop running
+     */
+    static void unschedule(JuiFillTransition trans) { getScheduler().remove(trans); }
+    
+    /**
+     * Records that a fill transition has a direction request to settle on
+     * the next pulse.
+     * @param trans - the fill transition with a direction request
+     */
+    static void request(JuiFillTransition trans) { getScheduler().addPending(trans); }
+    
+    /**
+     * Drops a fill transition's unsettled direction request, if it has one.
+     * @param trans - the fill transition played or jumped directly
+     */
+    static void cancelRequest(JuiFillTransition trans) { getScheduler().removePending(trans); }
+    
+    
+    /**************************************************************************
+     *                                                                        *
+     * Scheduler Implementation                                               *
+     *                                                                        *
+     *************************************************************************/
+    
+    // lazy instantiation, only ever accessed on the application thread
+    private static final class Holder {
+        static final FillScheduler INSTANCE = new FillScheduler();
+    }
+    
+    /**
+     * Gets the scheduler.
+     * @return the scheduler
+     */
+    private static FillScheduler getScheduler() { return Holder.INSTANCE; }
+    
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) { pulse(now); }
+    };
+    
+    // the active transitions, densely packed in [0, size)
+    private JuiFillTransition[] active = new JuiFillTransition[16];
+    private int size;
+    // the transitions with unsettled requests, densely packed
+    private JuiFillTransition[] pending = new JuiFillTransition[16];
+    private int pendingSize;
+    private long requests, settled;
+    
+    private boolean timerRunning;
+    
+    /** Creates scheduler, only one scheduler is created via Holder.INSTANCE */
+    private FillScheduler() {}
+    
+    private void add(JuiFillTransition trans) {
+        if (trans.schedIndex >= 0) { return; }
+        
+        if (size == active.length) { active = Arrays.copyOf(active, size * 2); }
+        
+        // like an animation, start at the first pulse after being played
+        trans.schedIndex = size;
+        trans.schedPulse = -1L;
+        active[size++] = trans;
+        
+        wake();
+    }
+    
+    private void remove(JuiFillTransition trans) {
+        final int i = trans.schedIndex;
+        if (i < 0) { return; }
+        
+        // move the last active transition into the removed one's index
+        final int last = --size;
+        if (i != last) {
+            final JuiFillTransition moved = active[last];
+            active[i] = moved;
+            moved.schedIndex = i;
+        }
+        
+        active[last] = null;
+        trans.schedIndex = -1;
+    }
+    
+    private void addPending(JuiFillTransition trans) {
+        requests += 1;
+        if (trans.pendIndex >= 0) { return; }
+        
+        if (pendingSize == pending.length) { pending = Arrays.copyOf(pending, pendingSize * 2); }
+        
+        trans.pendIndex = pendingSize;
+        pending[pendingSize++] = trans;
+        
+        wake();
+    }
+    
+    private void removePending(JuiFillTransition trans) {
+        final int i = trans.pendIndex;
+        if (i < 0) { return; }
+        
+        final int last = --pendingSize;
+        if (i != last) {
+            final JuiFillTransition moved = pending[last];
+            pending[i] = moved;
+            moved.pendIndex = i;
+        }
+        
+        pending[last] = null;
+        trans.pendIndex = -1;
+    }
+    
+    /** Starts the timer, if it is not already running. */
+    private void wake() {
+        if (timerRunning) { return; }
+        
+        timerRunning = true;
+        timer.start();
+    }
+    
+    private void pulse(long now) {
+        // settle direction requests first, settling may schedule transitions
+        while (pendingSize > 0) {
+            final JuiFillTransition trans = pending[pendingSize - 1];
+            removePending(trans);
+            
+            settled += 1;
+            trans.settleRequest();
+        }
+        
+        // iterate backwards, so removing a finished transition only moves an
+        // already advanced transition into its index, transitions played
+        // again while finishing are appended and wait for the next pulse
+        for (int i = size - 1; i >= 0; i--) {
+            if (i >= size) { continue; }
+            
+            final JuiFillTransition trans = active[i];
+            
+            // a transition's first pulse applies its starting position
+            final long elapsed = (trans.schedPulse < 0L) ? 0L : now - trans.schedPulse;
+            trans.schedPulse = now;
+            
+            if (!trans.advance(elapsed)) {
+                remove(trans);
+                trans.finishScheduled();
+            }
+        }
+        
+        // finishing may have requested or scheduled transitions
+        if (size == 0 && pendingSize == 0) {
+            timerRunning = false;
+            timer.stop();
+        }
+    }
+    
+}
@@ -32,12 +32,24 @@ import javafx.animation.Animation;
 import javafx.animation.Transition;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ObjectPropertyBase;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
 import javafx.util.Duration;
 
 
 /**
  * An animated transition class containing the basic functionalities required
  * by {@link FillableSkin} instances.
+ * <p>
+ * While the {@link FillScheduler} runs a transition, its underlying
+ * {@code Animation} is stopped at the start of its cycle. So
+ * {@link #getStatus()} reports {@code STOPPED}, {@link #getCurrentTime()}
+ * reports {@code 0}, and neither property is updated until the transition
+ * finishes or is handed back to its animation, use {@link #isPlaying()},
+ * {@link #isStopped()} and the like instead. {@link #play()},
+ * {@link #pause()} and {@link #stop()} do account for the scheduler,
+ * {@link #jumpTo(Duration)} does not and must not be used on a scheduled
+ * transition.
  * 
  * @author Jonathan Henly
  * @since JuiFX 1.0
@@ -53,6 +65,22 @@ public class JuiFillTransition extends Transition {
      *************************************************************************/
     
     private FillApplier<?> cachedFillApplier;
+    private boolean disposed;
+    
+    // index in the scheduler's active set, or -1 if not scheduled
+    int schedIndex = -1;
+    // linear position in the cycle while scheduled, from 0.0 to 1.0
+    private double schedPos;
+    // time of the pulse that last advanced this transition, or -1 if it has
+    // not been advanced since it was scheduled
+    long schedPulse = -1L;
+    // index in the scheduler's pending requests, or -1 if none is pending
+    int pendIndex = -1;
+    // the requested direction, 1.0 for forward or -1.0 for backward
+    private double requestedRate;
+    // the direction of the active retarget bridge, 1.0 for forward, -1.0 for
+    // backward or 0.0 if the fill applier isn't retargeted
+    private double retargetRate;
     
     
     /**************************************************************************
@@ -68,13 +96,28 @@ public class JuiFillTransition extends Transition {
      *        {@code FillApplier}
      */
     public JuiFillTransition(FillApplier<?> applier) {
+        this();
         if (applier == null) { throw new IllegalArgumentException("the 'applier' parameter cannot be null"); }
         
         cachedFillApplier = applier;
-        
+    }
+    
+    /**
+     * Creates a {@code JuiFillTransition} without a target
+     * {@code FillApplier}, for subclasses that override
+     * {@link #interpolate(double)} and {@link #resetFillable()} to act on
+     * their own targets.
+     */
+    protected JuiFillTransition() {
         // if playing backwards then reset fillable to pre-fill state on finish
         setOnFinished(e -> {
-            if (getRate() < 0.0) { cachedFillApplier.resetFillable(); }
+            if (retargetRate != 0.0) {
+                retargetRate = 0.0;
+                endRetarget();
+                // the bridge's end is the displayed paints, not the fill-to
+                if (getRate() > 0.0) { interpolate(1.0); }
+            }
+            if (getRate() < 0.0) { resetFillable(); }
         });
     }
     
@@ -170,6 +213,31 @@ public class JuiFillTransition extends Transition {
     @Override
     protected void interpolate(double frac) { cachedFillApplier.interpolateAndApply(frac); }
     
+    /**
+     * Resets the target {@code Fillable} instance to its pre-fill state, this
+     * is invoked when the transition finishes playing backward and by
+     * {@link #jumpToStart()}.
+     */
+    protected void resetFillable() { cachedFillApplier.resetFillable(); }
+    
+    /**
+     * Retargets the target {@code Fillable} instance's {@code FillApplier}
+     * from the paints it currently displays, see
+     * {@link FillApplier#retarget(boolean)}.
+     * 
+     * @param forward - {@code true} to retarget to the fill-to paints,
+     *        {@code false} to retarget to the fill-from paints
+     * @return {@code true} if the fill applier was retargeted, otherwise
+     *         {@code false}
+     */
+    protected boolean retargetFillable(boolean forward) { return cachedFillApplier.retarget(forward); }
+    
+    /**
+     * Ends a retarget started via {@link #retargetFillable(boolean)}, this is
+     * invoked when the transition finishes and by {@link #jumpToEnd()}.
+     */
+    protected void endRetarget() { cachedFillApplier.endRetarget(); }
+    
     /**
      * This method allows a {@code JuiFillTransition} to implement any logic
      * necessary to clean up itself after the {@code JuiFillTransition} is no
@@ -179,7 +247,8 @@ public class JuiFillTransition extends Transition {
      * after dispose will exhibit undefined behavior.
      */
     public void dispose() {
-        if (cachedFillApplier == null) { return; }
+        if (disposed) { return; }
+        disposed = true;
         
         stop();
         if (duration.isBound()) { duration.unbind(); }
@@ -188,12 +257,71 @@ public class JuiFillTransition extends Transition {
         cachedFillApplier = null;
     }
     
+    /**
+     * Plays this transition as an individual animation, drops an unsettled
+     * direction request and does nothing while the {@link FillScheduler} is
+     * running this transition.
+     * <p>
+     * <b>Documentation from</b>
+     * {@linkplain Animation#play() play()}
+     * <b>in</b> {@linkplain Animation} <b>follows:</b>
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    public void play() {
+        FillScheduler.cancelRequest(this);
+        if (schedIndex >= 0) { return; }
+        
+        super.play();
+    }
+    
+    /**
+     * Pauses this transition and drops an unsettled direction request. If the
+     * {@link FillScheduler} is running this transition, it is handed back to
+     * its animation, paused at the scheduled position.
+     * <p>
+     * <b>Documentation from</b>
+     * {@linkplain Animation#pause() pause()}
+     * <b>in</b> {@linkplain Animation} <b>follows:</b>
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    public void pause() {
+        FillScheduler.cancelRequest(this);
+        if (schedIndex >= 0) {
+            FillScheduler.unschedule(this);
+            jumpTo(getCycleDuration().multiply(schedPos));
+            super.play();
+        }
+        
+        super.pause();
+    }
+    
+    /**
+     * Stops this transition, drops an unsettled direction request and removes
+     * this transition from the {@link FillScheduler}.
+     * <p>
+     * <b>Documentation from</b>
+     * {@linkplain Animation#stop() stop()}
+     * <b>in</b> {@linkplain Animation} <b>follows:</b>
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    public void stop() {
+        FillScheduler.cancelRequest(this);
+        FillScheduler.unschedule(this);
+        super.stop();
+    }
+    
     /**
      * Gets whether or not this {@link JuiFillTransition} is currently playing.
      * @return {@code true} if this transition is playing, otherwise
      *         {@code false}
      */
-    public final boolean isPlaying() { return getStatus() == Animation.Status.RUNNING; }
+    public final boolean isPlaying() { return schedIndex >= 0 || getStatus() == Animation.Status.RUNNING; }
     
     /**
      * Gets whether or not this {@link JuiFillTransition} is currently playing in
@@ -206,11 +334,15 @@ public class JuiFillTransition extends Transition {
     
     /** Plays the transition forward at a rate of {@code 1.0}. */
     public final void playForward() {
+        FillScheduler.cancelRequest(this);
         if (isAtEnd() || isPlayingForward()) { return; }
         
+        // a backward bridge ends on the displayed paints, bridge forward instead
+        if (retargetRate < 0.0 && restartFromDisplayed(true)) { return; }
+        
         // play forward if at start, rate is <= 0 or transition isn't playing
         setRate(1.0);
-        play();
+        start();
     }
     
     /**
@@ -224,19 +356,73 @@ public class JuiFillTransition extends Transition {
     
     /** Plays the transition backward at a rate of {@code -1.0}. */
     public final void playBackward() {
+        FillScheduler.cancelRequest(this);
         if (isAtStart() || isPlayingBackward()) { return; }
         
+        // a forward bridge starts on the displayed paints, bridge backward instead
+        if (retargetRate > 0.0 && restartFromDisplayed(false)) { return; }
+        
         // play backward if at end, rate is >= 0 or transition isn't playing
         setRate(-1.0);
-        play();
+        start();
     }
     
+    /**
+     * Retargets this transition so it continues from the paints currently
+     * displayed, e.g. after the {@code Fillable} instance's fill changed in
+     * the middle of the transition.
+     * <p>
+     * A transition that is playing or paused forward, or is at its end,
+     * restarts forward from the displayed paints to the new fill-to paints.
+     * A transition that is playing or paused backward restarts backward from
+     * the displayed paints to the new fill-from paints. A transition at its
+     * start displays the pre-fill state, so there is nothing to retarget.
+     * Either way the displayed paints don't jump, and the spans bridging
+     * them come from the fill span cache.
+     * <p>
+     * Reversing a retargeted transition via {@link #playForward()} or
+     * {@link #playBackward()} retargets it again, in the new direction.
+     */
+    public final void retarget() {
+        if (disposed || isAtStart()) { return; }
+        
+        restartFromDisplayed(isAtEnd() || getRate() > 0.0);
+    }
+    
+    /**
+     * Requests that this transition play forward. If direction requests are
+     * coalesced, see {@link FillScheduler#enableCoalescing()}, the request is
+     * settled on the next pulse via {@link #playForward()}, otherwise this simply
+     * plays forward.
+     * <p>
+     * Coalesced requests made before the pulse replace each other, so only the
+     * last requested direction is played. Playing or jumping this transition
+     * directly drops an unsettled request.
+     *
+     * @see FillScheduler
+     */
+    public final void requestForward() { request(1.0); }
+    
+    /**
+     * Requests that this transition play backward. If direction requests are
+     * coalesced, see {@link FillScheduler#enableCoalescing()}, the request is
+     * settled on the next pulse via {@link #playBackward()}, otherwise this simply
+     * plays backward.
+     * <p>
+     * Coalesced requests made before the pulse replace each other, so only the
+     * last requested direction is played. Playing or jumping this transition
+     * directly drops an unsettled request.
+     *
+     * @see FillScheduler
+     */
+    public final void requestBackward() { request(-1.0); }
+    
     /**
      * Gets whether or not this {@link JuiFillTransition} is currently stopped.
      * @return {@code true} if this transition is stopped, otherwise
      *         {@code false}
      */
-    public final boolean isStopped() { return getStatus() == Animation.Status.STOPPED; }
+    public final boolean isStopped() { return schedIndex < 0 && getStatus() == Animation.Status.STOPPED; }
     
     /**
      * Gets whether or not this {@link JuiFillTransition} is currently paused.
@@ -266,13 +452,16 @@ public class JuiFillTransition extends Transition {
      * instance's fill to its fill-to.
      */
     public final void jumpToEnd() {
+        FillScheduler.cancelRequest(this);
         if (isAtEnd()) { return; }
         
         stop();
         jumpTo(getTotalDuration());
         setRate(-1.0);
         
-        cachedFillApplier.interpolateAndApply(1.0);
+        retargetRate = 0.0;
+        endRetarget();
+        interpolate(1.0);
     }
     
     /**
@@ -280,14 +469,128 @@ public class JuiFillTransition extends Transition {
      * instance to its pre-fill state.
      */
     public final void jumpToStart() {
+        FillScheduler.cancelRequest(this);
         if (isAtStart()) { return; }
         
         stop();
         jumpTo(Duration.ZERO);
         setRate(1.0);
         
-        cachedFillApplier.resetFillable();
+        retargetRate = 0.0;
+        resetFillable();
+    }
+    
+    
+    /**************************************************************************
+     *                                                                        *
+     * Scheduler Support                                                      *
+     *                                                                        *
+     *************************************************************************/
+    
+    private void request(double rate) {
+        if (disposed) { return; }
+        
+        requestedRate = rate;
+        if (FillScheduler.isCoalescing()) {
+            FillScheduler.request(this);
+        } else {
+            settleRequest();
+        }
+    }
+    
+    /** Plays this transition in its last requested direction. */
+    void settleRequest() {
+        if (requestedRate > 0.0) {
+            playForward();
+        } else {
+            playBackward();
+        }
+    }
+    
+    /**
+     * Retargets the fill applier from the displayed paints and restarts this
+     * transition in the specified direction, see {@link #retarget()}.
+     * 
+     * @param forward - {@code true} to restart forward from {@code 0.0},
+     *        {@code false} to restart backward from {@code 1.0}
+     * @return {@code true} if the fill applier was retargeted and this
+     *         transition restarted, otherwise {@code false}
+     */
+    private boolean restartFromDisplayed(boolean forward) {
+        if (!retargetFillable(forward)) { return false; }
+        
+        retargetRate = forward ? 1.0 : -1.0;
+        FillScheduler.unschedule(this);
+        super.stop();
+        
+        jumpTo(forward ? Duration.ZERO : getTotalDuration());
+        setRate(retargetRate);
+        start();
+        
+        return true;
+    }
+    
+    /**
+     * Plays this transition from its current position, either on the
+     * {@link FillScheduler} or as an individual animation.
+     */
+    private void start() {
+        if (FillScheduler.isEnabled()) {
+            if (schedIndex >= 0) { return; }
+            
+            // take over from the animation, stop resets its play head
+            schedPos = currentPosition();
+            super.stop();
+            FillScheduler.schedule(this);
+        } else {
+            if (schedIndex >= 0) {
+                // hand back to the animation at the scheduled position
+                FillScheduler.unschedule(this);
+                jumpTo(getCycleDuration().multiply(schedPos));
+            }
+            
+            super.play();
+        }
     }
     
+    /** @return this transition's linear position in its cycle */
+    private double currentPosition() {
+        final double cycle = getCycleDuration().toMillis();
+        if (cycle <= 0.0) { return (getRate() > 0.0) ? 0.0 : 1.0; }
+        
+        return Math.min(1.0, getCurrentTime().toMillis() / cycle);
+    }
+    
+    /**
+     * Advances this transition while it is run by the scheduler.
+     * 
+     * @param elapsed - the nanoseconds elapsed since the last pulse
+     * @return {@code false} if this transition reached its start or end,
+     *         otherwise {@code true}
+     */
+    boolean advance(long elapsed) {
+        final double cycle = getCycleDuration().toMillis() * 1_000_000.0;
+        final boolean forward = getRate() > 0.0;
+        
+        double pos = (cycle <= 0.0) ? (forward ? 1.0 : 0.0) : schedPos + getRate() * elapsed / cycle;
+        pos = (pos < 0.0) ? 0.0 : (pos > 1.0) ? 1.0 : pos;
+        schedPos = pos;
+        
+        interpolate(getInterpolator().interpolate(0.0, 1.0, pos));
+        
+        return forward ? pos < 1.0 : pos > 0.0;
+    }
+    
+    /**
+     * Finishes this transition after the scheduler removed it, leaves the
+     * animation positioned where the scheduler finished and fires the
+     * {@code onFinished} handler like a finished animation would.
+     */
+    void finishScheduled() {
+        jumpTo((schedPos >= 1.0) ? getTotalDuration() : Duration.ZERO);
+        
+        final EventHandler<ActionEvent> onFinished = getOnFinished();
+        if (onFinished != null) { onFinished.handle(new ActionEvent(this, null)); }
+    }
     
 }
@@ -219,6 +219,32 @@ public class FillButton extends Button implements Fillable {
     public final boolean isFillOnFocus() { return fillOnFocus == null ? false : fillOnFocus.get(); }
     private BooleanProperty fillOnFocus;
     
+    /* --- fill mode --- */
+    @Override
+    public ObjectProperty<FillMode> fillModeProperty() {
+        if (fillMode == null) {
+            fillMode = new StyleableObjectProperty<FillMode>(Fillable.DEFAULT_FILL_MODE)
+            {
+                @Override
+                public String getName() { return "fillMode"; } // $NON-NLS-1$
+                @Override
+                public Object getBean() { return FillButton.this; }
+                
+                @Override
+                public CssMetaData<Fillable, FillMode> getCssMetaData() {
+                    return Fillable.StyleableProperties.FILL_MODE;
+                }
+                
+            };
+        }
+        return fillMode;
+    }
+    @Override
+    public final void setFillMode(FillMode value) { fillModeProperty().set(value); }
+    @Override
+    public final FillMode getFillMode() { return fillMode == null ? Fillable.DEFAULT_FILL_MODE : fillMode.get(); }
+    private ObjectProperty<FillMode> fillMode;
+    
     /* --- fillable skin --- */
     /**
      * The fillable skin property, which encapsulates this {@code Fillable}
@@ -0,0 +1,53 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jhenly.juifx.control;
+
+/**
+ * Enumeration of the strategies a {@link Fillable}'s skin can use to render
+ * its fill transition, set via the {@code -fill-mode} CSS property.
+ *
+ * @author Jonathan Henly
+ * @since JuiFX 1.0
+ *
+ * @see Fillable#fillModeProperty()
+ */
+public enum FillMode {
+    
+    /**
+     * Every frame of the fill transition interpolates each fill span and
+     * writes a new background, border, text fill and shape paint.
+     */
+    INTERPOLATE,
+    
+    /**
+     * Solid background fill spans are rendered by placing a region, styled
+     * with the end background, behind the control's content and animating
+     * only its opacity, so frames do not allocate new backgrounds. Fills
+     * with non-color background spans fall back to {@link #INTERPOLATE}.
+     * <p>
+     * The region is drawn above the control's border, so controls with a
+     * border, or fills with border spans, also fall back to
+     * {@link #INTERPOLATE}.
+     * <p>
+     * <b>Note:</b> this mode is experimental. It cuts the cost of applying
+     * frames, most of all when frames can't be shared between controls, but
+     * adds a node per control to render, and rendering cost has not been
+     * measured.
+     */
+    OVERLAY;
+    
+}
@@ -33,6 +33,7 @@ import javafx.css.Styleable;
 import javafx.css.StyleableProperty;
 import javafx.css.converter.BooleanConverter;
 import javafx.css.converter.DurationConverter;
+import javafx.css.converter.EnumConverter;
 import javafx.scene.control.Skinnable;
 import javafx.scene.layout.Background;
 import javafx.scene.layout.Border;
@@ -163,6 +164,29 @@ public interface Fillable extends Skinnable, Styleable {
     /** The default {@code fillOnFocus} value. */
     boolean DEFAULT_FILL_ON_FOCUS = false;
     
+    /* --- Fill Mode --- */
+    /**
+     * The fill mode property, which specifies the strategy this
+     * {@code Fillable} instance's skin uses to render its fill transition.
+     * 
+     * @defaultValue {@link FillMode#INTERPOLATE}
+     */
+    ObjectProperty<FillMode> fillModeProperty();
+    /**
+     * Sets the strategy this {@code Fillable} instance's skin uses to render
+     * its fill transition.
+     * @param value - the fill mode
+     */
+    default void setFillMode(FillMode value) { fillModeProperty().set(value); }
+    /**
+     * Gets the strategy this {@code Fillable} instance's skin uses to render
+     * its fill transition.
+     * @return the fill mode
+     */
+    default FillMode getFillMode() { return DEFAULT_FILL_MODE; }
+    /** The default {@code fillMode} value. */
+    FillMode DEFAULT_FILL_MODE = FillMode.INTERPOLATE;
+    
     /* --- Fillable Skin --- */
     /**
      * The fillable skin property, which encapsulates this {@code Fillable}
@@ -324,9 +348,24 @@ public interface Fillable extends Skinnable, Styleable {
                 }
             };
         
+        /* --- Fill Mode --- */
+        public static final CssMetaData<Fillable, FillMode> FILL_MODE
+            = new CssMetaData<Fillable, FillMode>("-fill-mode", new EnumConverter<>(FillMode.class), DEFAULT_FILL_MODE)
+            {
+                @Override
+                public boolean isSettable(Fillable fillable) {
+                    return !fillable.fillModeProperty().isBound();
+                }
+                @SuppressWarnings("unchecked")
+                @Override
+                public StyleableProperty<FillMode> getStyleableProperty(Fillable fillable) {
+                    return (StyleableProperty<FillMode>) fillable.fillModeProperty();
+                }
+            };
+        
         /* --- Styleables --- */
         private static final List<CssMetaData<? extends Styleable, ?>> STYLEABLES
-            = List.of(FILL_ENABLED, FILL_DURATION, FILL, FILL_ON_FOCUS);
+            = List.of(FILL_ENABLED, FILL_DURATION, FILL, FILL_ON_FOCUS, FILL_MODE);
     }
     
     /**
@@ -6,6 +6,7 @@ import com.jhenly.juifx.control.Fillable;
 
 import impl.com.jhenly.juifx.fill.Fill;
 import javafx.scene.control.Control;
+import javafx.scene.layout.Region;
 
 
 /**
@@ -146,4 +147,53 @@ public interface FillApplier<F extends Fillable> {
      */
     void resetFillable();
     
+    /**
+     * Retargets this {@code FillApplier} from the paints its {@code Fillable}
+     * currently displays, e.g. after the {@code Fillable} instance's fill
+     * changed in the middle of a transition.
+     * <p>
+     * Until {@link #endRetarget()} is invoked, or the {@code Fillable} is
+     * reset, {@link #interpolateAndApply(double)} interpolates from the
+     * displayed paints to the fill's fill-to paints if {@code forward} is
+     * {@code true}, otherwise from the fill's fill-from paints to the
+     * displayed paints. Playing forward from {@code 0.0}, or backward from
+     * {@code 1.0}, then continues from what's displayed without a jump.
+     * <p>
+     * The default implementation does not support retargeting and returns
+     * {@code false}.
+     * 
+     * @param forward - {@code true} to retarget to the fill's fill-to paints,
+     *        {@code false} to retarget to its fill-from paints
+     * @return {@code true} if this {@code FillApplier} was retargeted,
+     *         otherwise {@code false}
+     */
+    default boolean retarget(boolean forward) { return false; }
+    
+    /**
+     * Ends a retarget started via {@link #retarget(boolean)}, this
+     * {@code FillApplier} then interpolates its {@code Fillable} instance's
+     * fill again. Does nothing if this {@code FillApplier} isn't retargeted.
+     */
+    default void endRetarget() {}
+    
+    /**
+     * Sets the region that this {@code FillApplier} may render solid
+     * background fills with, by styling the region with the fill-to
+     * background and animating only its opacity, see
+     * {@link com.jhenly.juifx.control.FillMode#OVERLAY FillMode.OVERLAY}.
+     * Fills that cannot be rendered with an overlay are still interpolated.
+     * <p>
+     * The overlay is owned by the {@code Fillable} instance's skin, which
+     * places it behind the {@code Fillable}'s content and sizes it. Setting
+     * the overlay to {@code null} returns to interpolating backgrounds.
+     * <p>
+     * The default implementation does not support overlays and returns
+     * {@code false}.
+     * 
+     * @param overlay - the overlay region, or {@code null}
+     * @return {@code true} if this {@code FillApplier} accepted the overlay,
+     *         otherwise {@code false}
+     */
+    default boolean setOverlay(Region overlay) { return false; }
+    
 }
@@ -1,10 +1,10 @@
 package com.jhenly.juifx.control.applier;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.LinkedHashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Map;
 
 import com.jhenly.juifx.control.Fillable;
 
@@ -12,23 +12,79 @@ import impl.com.jhenly.juifx.fill.BorderFillSpan;
 import impl.com.jhenly.juifx.fill.Fill;
 import impl.com.jhenly.juifx.fill.FillHelper;
 import impl.com.jhenly.juifx.fill.FillSpan;
+import impl.com.jhenly.juifx.fill.FillSpanHelper;
+import impl.com.jhenly.juifx.fill.ReplaceContext;
 import javafx.beans.InvalidationListener;
 import javafx.beans.WeakInvalidationListener;
 import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
 import javafx.beans.value.WeakChangeListener;
-import javafx.css.StyleOrigin;
-import javafx.css.StyleableObjectProperty;
 import javafx.scene.control.Skin;
 import javafx.scene.layout.Background;
 import javafx.scene.layout.BackgroundFill;
 import javafx.scene.layout.Border;
 import javafx.scene.layout.BorderStroke;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
 import javafx.scene.paint.Paint;
 import javafx.scene.shape.Shape;
 
 
 public abstract class FillApplierBase<F extends Fillable> implements FillApplier<F> {
     
+    /** The frame cache resolution used to disable frame caches. */
+    public static final int FRAME_CACHES_DISABLED = 0;
+    /** The default frame cache resolution. */
+    public static final int DEFAULT_FRAME_CACHE_RESOLUTION = 256;
+    /** The largest supported frame cache resolution. */
+    public static final int MAX_FRAME_CACHE_RESOLUTION = 4096;
+    // current frame cache resolution
+    private static volatile int frameCacheResolution = DEFAULT_FRAME_CACHE_RESOLUTION;
+    
+    /**
+     * Gets the number of steps background and border frame caches are
+     * quantized to, or {@link #FRAME_CACHES_DISABLED} if frame caches are
+     * disabled.
+     * 
+     * @return the current frame cache resolution
+     * @see #setFrameCacheResolution(int)
+     */
+    public static int getFrameCacheResolution() { return frameCacheResolution; }
+    
+    /**
+     * Sets the number of steps background and border frame caches are
+     * quantized to.
+     * <p>
+     * Building a frame's {@code Background} or {@code Border} allocates a new
+     * list, a new fill or stroke per layer and the wrapper itself. When frame
+     * caches are enabled, each fill applier quantizes the interpolate
+     * fraction to the nearest of {@code resolution} steps and remembers the
+     * {@code Background} and {@code Border} it built for each step, so
+     * reversing or replaying a transition reuses them. A frame cache is
+     * dropped once the fill or the fillable's base background or border
+     * changes. Frames are also shared between fill appliers applying equal
+     * fills to the same base background or border via
+     * {@link FillFrameCache}.
+     * <p>
+     * Frame caches are enabled by default with a resolution of
+     * {@value #DEFAULT_FRAME_CACHE_RESOLUTION} steps, which is
+     * indistinguishable from unquantized interpolation for 8-bit color
+     * channels. Changing the resolution rebuilds frame caches as they are
+     * next used.
+     * 
+     * @param resolution - the number of frame cache steps, or
+     *        {@link #FRAME_CACHES_DISABLED} to disable frame caches
+     * @throws IllegalArgumentException if {@code resolution} is negative,
+     *         {@code 1} or greater than {@link #MAX_FRAME_CACHE_RESOLUTION}
+     */
+    public static void setFrameCacheResolution(int resolution) {
+        if (resolution < 0 || resolution == 1 || resolution > MAX_FRAME_CACHE_RESOLUTION) {
+            throw new IllegalArgumentException("invalid frame cache resolution: " + resolution);
+        }
+        
+        frameCacheResolution = resolution;
+    }
+    
     /**
      * The {@code Fillable} that is referencing this {@code FillApplier}. There
      * is a one-to-one relationship between a {@code FillApplier} and a
@@ -37,12 +93,28 @@ public abstract class FillApplierBase<F extends Fillable> implements FillApplier
      */
     private F fable;
     private Fill fill;
+    // the fillable's fill, 'fill' is this fill with its specials replaced
+    private Fill srcFill;
+    // while retargeted, 'fill' is a bridge and this is the fill it bridges to
+    private Fill target;
     
     
     private boolean fillInvalid;
     private boolean applying;
-    private AttachedList attached;
-    private Map<Class<? extends SubApplier>, SubApplier> subAppliers;
+    private AttachedRegistry attached;
+    // sub-appliers indexed by slot, 'activeSlots' has a bit set per occupied slot
+    private final SubApplier[] subAppliers = new SubApplier[SLOT_COUNT];
+    private int activeSlots;
+    // number of writes skipped because they would not change what's displayed
+    private long skippedWrites;
+    // number of frames restored after a CSS pass replaced them
+    private long restoredFrames;
+    // the last created background sub-applier, possibly since replaced
+    private BgFillApplier bgApplier;
+    // the region solid backgrounds are faded in on, if any, see 'setOverlay'
+    private Region overlay;
+    // fills with their specials replaced, by source fill and paints
+    private final ResolvedFills resolved = new ResolvedFills();
     
     protected Paint textCache;
     protected Paint shapeCache;
@@ -67,6 +139,17 @@ public abstract class FillApplierBase<F extends Fillable> implements FillApplier
     };
     private final WeakInvalidationListener weakPropInvalidated = new WeakInvalidationListener(propInvalidated);
     
+    private final InvalidationListener bgInvalidated = obv -> {
+        if (applying || fillInvalid) { return; }
+        
+        // a CSS pass that re-applies the base background mid-transition
+        // doesn't invalidate fill, the displayed frame is restored instead
+        if (bgApplierIsRegistered() && bgApplier.restoreFrame()) { return; }
+        
+        fillInvalid = true;
+    };
+    private final WeakInvalidationListener weakBgInvalidated = new WeakInvalidationListener(bgInvalidated);
+    
     private final ChangeListener<Shape> shapeChanged = (obv, o, n) -> {
         if (o != null) { o.strokeProperty().removeListener(weakPropInvalidated); }
         if (n != null) { n.strokeProperty().addListener(weakPropInvalidated); }
@@ -125,7 +208,8 @@ public abstract class FillApplierBase<F extends Fillable> implements FillApplier
         fable.fillProperty().removeListener(fillInvalidated);
         
         fable = null;
-        fill = null;
+        fill = srcFill = null;
+        resolved.clear();
     }
     
     /** {@inheritDoc} */
@@ -141,8 +225,10 @@ public abstract class FillApplierBase<F extends Fillable> implements FillApplier
             // update fill and caches if invalid (cachesInvalid -> fillInvalid)
             if (fillInvalid) { updateInvalid(); }
             
-            if (subAppliers != null) {
-                subAppliers.values().forEach(applier -> applier.interpolateAndApply(frac));
+            // plain loop over the set bits, no iterator or lambda per frame
+            final SubApplier[] slots = subAppliers;
+            for (int bits = activeSlots; bits != 0; bits &= bits - 1) {
+                slots[Integer.numberOfTrailingZeros(bits)].interpolateAndApply(frac);
             }
             
         }
@@ -157,6 +243,8 @@ public abstract class FillApplierBase<F extends Fillable> implements FillApplier
     
     @Override
     public void resetFillable() {
+        endRetarget();
+        
         applying = true;
         
         if (textCache != null) { fable.setTextFill(textCache); }
@@ -170,15 +258,86 @@ public abstract class FillApplierBase<F extends Fillable> implements FillApplier
         if (bgCache != null) { fable.setBackground(bgCache); }
         if (bdCache != null) { fable.setBorder(bdCache); }
         
+        // the base background is displayed again, there is no frame to restore
+        if (bgApplierIsRegistered()) { bgApplier.forgetFrame(); }
+        
         applying = false;
     }
     
+    /** {@inheritDoc} */
+    @Override
+    public final boolean retarget(boolean forward) {
+        if (fable == null || applying) { return false; }
+        
+        // pick up a fill change that hasn't been handled yet
+        updateFill();
+        if (fill == null || !fill.hasFillSpans()) { return false; }
+        if (fillInvalid) { updateInvalid(); }
+        
+        final Fill real = (target != null) ? target : fill;
+        fill = bridge(real, forward);
+        target = real;
+        
+        return true;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public final void endRetarget() {
+        if (target == null) { return; }
+        
+        fill = target;
+        target = null;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public final boolean setOverlay(Region overlay) {
+        if (fable == null) { return false; }
+        if (this.overlay == overlay) { return true; }
+        
+        if (this.overlay != null) { this.overlay.setOpacity(0.0); }
+        this.overlay = overlay;
+        
+        // swap the background sub-applier for one that suits the overlay
+        if (fill != null && fill.hasFillSpans()) { registerBgFillApplier(); }
+        
+        return true;
+    }
+    
     /***************************************************************************
      *                                                                         *
      * Public API                                                              *
      *                                                                         *
      **************************************************************************/
     
+    /**
+     * Gets the number of writes this {@code FillApplier} has skipped.
+     * <p>
+     * Each sub-applier remembers what it last wrote to the {@code Fillable}
+     * and skips writing a newly interpolated value that would be displayed
+     * the same, i.e. colors with equal 8-bit channels or equal paints, as
+     * long as the {@code Fillable} still holds the last written value. This
+     * commonly happens during slow transitions and transitions between
+     * near-identical paints.
+     *
+     * @return the number of skipped writes
+     */
+    public final long getSkippedWriteCount() { return skippedWrites; }
+    
+    /**
+     * Gets the number of background frames this {@code FillApplier} has
+     * restored.
+     * <p>
+     * A CSS pass in the middle of a fill transition, e.g. after a pseudo
+     * class change, can re-apply the background the displayed frame was
+     * derived from. The applier restores the displayed frame instead of
+     * treating that as a background change.
+     *
+     * @return the number of restored background frames
+     */
+    public final long getRestoredFrameCount() { return restoredFrames; }
+    
     protected void updateSubAppliers() {
         registerTextFillApplier();
         registerShapeFillApplier();
@@ -189,51 +348,53 @@ public abstract class FillApplierBase<F extends Fillable> implements FillApplier
     
     private void registerTextFillApplier() {
         if (fill.hasTextFillSpan()) {
-            if (!subApplierIsRegistered(TextFillApplier.class)) {
-                registerSubApplier(new TextFillApplier());
+            if (!subApplierIsRegistered(TEXT_SLOT)) {
+                registerSubApplier(TEXT_SLOT, new TextFillApplier());
             }
         } else {
-            unregisterSubApplier(TextFillApplier.class);
+            unregisterSubApplier(TEXT_SLOT);
         }
     }
     
     private void registerShapeFillApplier() {
         if (fill.hasShapeFillSpan()) {
-            if (!subApplierIsRegistered(ShapeFillApplier.class)) {
-                registerSubApplier(new ShapeFillApplier());
+            if (!subApplierIsRegistered(SHAPE_SLOT)) {
+                registerSubApplier(SHAPE_SLOT, new ShapeFillApplier());
             }
         } else {
-            unregisterSubApplier(ShapeFillApplier.class);
+            unregisterSubApplier(SHAPE_SLOT);
         }
     }
     
     private void registerStrokeFillApplier() {
         if (fill.hasStrokeFillSpan()) {
-            if (!subApplierIsRegistered(StrokeFillApplier.class)) {
-                registerSubApplier(new StrokeFillApplier());
+            if (!subApplierIsRegistered(STROKE_SLOT)) {
+                registerSubApplier(STROKE_SLOT, new StrokeFillApplier());
             }
         } else {
-            unregisterSubApplier(StrokeFillApplier.class);
+            unregisterSubApplier(STROKE_SLOT);
         }
     }
     
     private void registerBgFillApplier() {
         if (fill.hasBgFillSpans()) {
-            if (!subApplierIsRegistered(BgFillApplier.class)) {
-                registerSubApplier(new BgFillApplier());
+            final boolean useOverlay = overlay != null;
+            if (!subApplierIsRegistered(BG_SLOT)
+                || (bgApplierIsRegistered() && bgApplier.usesOverlay() != useOverlay)) {
+                registerSubApplier(BG_SLOT, bgApplier = useOverlay ? new OverlayBgFillApplier() : new BgFillApplier());
             }
         } else {
-            unregisterSubApplier(BgFillApplier.class);
+            unregisterSubApplier(BG_SLOT);
         }
     }
     
     private void registerBorderFillApplier() {
         if (fill.hasBorderFillSpans()) {
-            if (!subApplierIsRegistered(BorderFillApplier.class)) {
-                registerSubApplier(new BorderFillApplier());
+            if (!subApplierIsRegistered(BORDER_SLOT)) {
+                registerSubApplier(BORDER_SLOT, new BorderFillApplier());
             }
         } else {
-            unregisterSubApplier(BorderFillApplier.class);
+            unregisterSubApplier(BORDER_SLOT);
         }
     }
     
@@ -248,10 +409,7 @@ public abstract class FillApplierBase<F extends Fillable> implements FillApplier
     public final boolean attach(FillApplier<?> applier) {
         if (applier == null) { return false; }
         
-        if (attached == null) {
-            attached = new AttachedList(applier);
-            return true;
-        }
+        if (attached == null) { attached = new AttachedRegistry(1); }
         
         // does a simple circular reference check, applying should cover the
         // rest
@@ -261,13 +419,19 @@ public abstract class FillApplierBase<F extends Fillable> implements FillApplier
     /** {@inheritDoc} */
     @Override
     public final boolean attachAll(Collection<FillApplier<?>> appliers) {
-        if (appliers == null) { return false; }
+        if (appliers == null || appliers.isEmpty()) { return false; }
         
-        final int preAttachSize = (attached == null) ? 0 : attached.size();
+        if (attached == null) { attached = new AttachedRegistry(appliers.size()); }
         
-        appliers.forEach(a -> attach(a));
+        final int preAttachSize = attached.size();
         
-        return (attached == null) ? false : attached.size() != preAttachSize;
+        // grow once, rather than once per doubling
+        attached.ensureCapacity(preAttachSize + appliers.size());
+        for (FillApplier<?> applier : appliers) {
+            if (applier != null) { attached.add(applier); }
+        }
+        
+        return attached.size() != preAttachSize;
     }
     
     /** {@inheritDoc} */
@@ -275,10 +439,7 @@ public abstract class FillApplierBase<F extends Fillable> implements FillApplier
     public final boolean detach(FillApplier<?> applier) {
         if (applier == null || attached == null) { return false; }
         
-        final boolean removed = attached.remove(applier);
-        if (removed && attached.size() <= 0) { attached = null; }
-        
-        return removed;
+        return attached.remove(applier);
     }
     
     /** {@inheritDoc} */
@@ -288,7 +449,9 @@ public abstract class FillApplierBase<F extends Fillable> implements FillApplier
         
         final int preDetachSize = attached.size();
         
-        appliers.forEach(a -> detach(a));
+        for (FillApplier<?> applier : appliers) {
+            if (applier != null) { attached.remove(applier); }
+        }
         
         return attached.size() != preDetachSize;
     }
@@ -298,155 +461,212 @@ public abstract class FillApplierBase<F extends Fillable> implements FillApplier
     public final void detachAll() {
         if (attached == null) { return; }
         attached.clear();
-        attached = null;
     }
     
     
     /***************************************************************************
      *                                                                         *
-     * Attached List Implementation                                            *
+     * Resolved Fills Implementation                                           *
      *                                                                         *
      **************************************************************************/
     
-    /** Helper doubly linked list node class. */
-    private static class AttachedList {
-        private AttachedApplier head;
-        private int size;
+    /**
+     * Small most recently used cache of fills with their specials replaced.
+     * <p>
+     * Hover and focus styles usually flip a fillable's background, border and
+     * text fill between a few CSS computed instances, so entries are keyed on
+     * the identities of the source fill and of those paints. Identity
+     * comparisons keep lookups cheap, a miss only costs a replacement that
+     * would have been done anyway.
+     */
+    private static final class ResolvedFills {
+        private static final int CAPACITY = 4;
         
-        AttachedList(FillApplier<?> first) {
-            head = new AttachedApplier(first);
-            size = 1;
-        }
+        // most recently used first
+        private final Entry[] entries = new Entry[CAPACITY];
+        private int size;
         
-        boolean add(FillApplier<?> toAdd) {
-            // create and set head if it was removed
-            if (head == null) {
-                head = new AttachedApplier(toAdd);
-                size += 1;
-                return true;
+        Fill get(Fill src, Background bg, Border bd, Paint text, Paint shape, Paint stroke) {
+            for (int i = 0; i < size; i++) {
+                final Entry e = entries[i];
+                if (e.src == src && e.bg == bg && e.bd == bd && e.text == text && e.shape == shape
+                    && e.stroke == stroke) {
+                    moveToFront(i, e);
+                    return e.resolved;
+                }
             }
             
-            AttachedApplier cur = head;
+            return null;
+        }
+        
+        void put(Fill src, Background bg, Border bd, Paint text, Paint shape, Paint stroke, Fill resolved) {
+            // the least recently used entry falls off the end when full
+            if (size < CAPACITY) { size += 1; }
+            moveToFront(size - 1, new Entry(src, bg, bd, text, shape, stroke, resolved));
+        }
+        
+        void clear() {
+            Arrays.fill(entries, null);
+            size = 0;
+        }
+        
+        private void moveToFront(int i, Entry e) {
+            System.arraycopy(entries, 0, entries, 1, i);
+            entries[0] = e;
+        }
+        
+        private static final class Entry {
+            private final Fill src;
+            private final Background bg;
+            private final Border bd;
+            private final Paint text, shape, stroke;
+            private final Fill resolved;
             
-            // circular reference check
-            while (cur.next != null) {
-                if (cur.attached.equals(toAdd)) { return false; }
-                cur = cur.next;
+            private Entry(Fill src, Background bg, Border bd, Paint text, Paint shape, Paint stroke, Fill resolved) {
+                this.src = src;
+                this.bg = bg;
+                this.bd = bd;
+                this.text = text;
+                this.shape = shape;
+                this.stroke = stroke;
+                this.resolved = resolved;
             }
-            // need to check the last node in the list
-            if (cur.attached.equals(toAdd)) { return false; }
+        }
+    } // class ResolvedFills
+    
+    
+    /***************************************************************************
+     *                                                                         *
+     * Attached Registry Implementation                                        *
+     *                                                                         *
+     **************************************************************************/
+    
+    /**
+     * Registry of attached fill appliers.
+     * <p>
+     * Attached appliers are held in a dense array, which is what
+     * {@link #interpolateAndApply(double)} iterates, and are indexed by
+     * identity so adding, removing and looking up an applier is O(1). Removal
+     * moves the last attached applier into the removed applier's index, so
+     * the order attached appliers are applied in is not the order they were
+     * attached in.
+     */
+    private static final class AttachedRegistry {
+        private static final Attached[] EMPTY = new Attached[0];
+        
+        private final IdentityHashMap<FillApplier<?>, Attached> index;
+        private Attached[] dense;
+        private int size;
+        
+        AttachedRegistry(int expected) {
+            index = new IdentityHashMap<>(expected);
+            dense = (expected == 0) ? EMPTY : new Attached[expected];
+        }
+        
+        int size() { return size; }
+        
+        void ensureCapacity(int capacity) {
+            if (capacity > dense.length) { dense = Arrays.copyOf(dense, Math.max(capacity, dense.length * 2)); }
+        }
+        
+        boolean add(FillApplier<?> toAdd) {
+            if (index.containsKey(toAdd)) { return false; }
+            
+            ensureCapacity(size + 1);
             
-            // create and add fill applier to the list
-            AttachedApplier tmp = new AttachedApplier(toAdd);
-            cur.next = tmp;
-            tmp.prev = cur;
+            final Attached node = new Attached(this, toAdd, size);
+            dense[size++] = node;
+            index.put(toAdd, node);
             
-            size += 1;
             return true;
         }
         
         boolean remove(FillApplier<?> toRemove) {
-            if (head == null) { return false; }
-            
-            AttachedApplier cur = head;
-            
-            while (cur != null) {
-                if (cur.attached.equals(toRemove)) {
-                    if (cur == head) {
-                        if (cur.next != null) {
-                            head = cur.next;
-                        } else {
-                            head = null;
-                        }
-                    }
-                    
-                    cur.dispose();
-                    size -= 1;
-                    return true;
-                }
-                
-                cur = cur.next;
-            }
+            final Attached node = index.remove(toRemove);
+            if (node == null) { return false; }
             
-            return false;
+            removeAt(node);
+            return true;
         }
         
-        void clear() {
-            if (head == null) { return; }
+        /** Removes a node whose applier's skin or fill applier changed. */
+        void removeStale(Attached node) {
+            if (index.get(node.applier) != node) { return; }
             
-            AttachedApplier cur = head;
-            
-            while (cur != null) {
-                AttachedApplier tmp = cur.next;
-                cur.dispose();
-                cur = tmp;
+            index.remove(node.applier);
+            removeAt(node);
+        }
+        
+        void clear() {
+            for (int i = 0; i < size; i++) {
+                dense[i].dispose();
+                dense[i] = null;
             }
             
-            head = null;
+            index.clear();
             size = 0;
         }
         
-        int size() { return size; }
-        
         void interpolateAndApply(double frac) {
-            if (head == null) { return; }
-            
-            AttachedApplier cur = head;
-            
-            while (cur != null) {
-                cur.interpolateAndApply(frac);
-                cur = cur.next;
+            // iterate backwards, so an applier removed while applying only
+            // moves an already applied applier into its index
+            for (int i = size - 1; i >= 0; i--) {
+                if (i < size) { dense[i].applier.interpolateAndApply(frac); }
             }
         }
         
-        /** Helper doubly linked list node class. */
-        private static class AttachedApplier {
-            private AttachedApplier next, prev;
-            private FillApplier<?> attached;
-            
-            private final ChangeListener<Skin<?>> skinChange = (obv, o, n) -> dispose();
-            private final WeakChangeListener<Skin<?>> weakSkinChange = new WeakChangeListener<>(skinChange);
+        private void removeAt(Attached node) {
+            node.dispose();
             
-            private final ChangeListener<FillApplier<?>> applierChange = (obv, o, n) -> dispose();
-            private final WeakChangeListener<FillApplier<?>> weakApplierChange =
-            new WeakChangeListener<>(applierChange);
+            final int i = node.pos;
+            final int last = --size;
             
-            AttachedApplier(FillApplier<?> toAttach) {
-                attached = toAttach;
-                attached.getFillable().skinProperty().addListener(weakSkinChange);
-                attached.getFillable().getFillableSkin().fillApplierProperty().addListener(weakApplierChange);
+            if (i != last) {
+                final Attached moved = dense[last];
+                dense[i] = moved;
+                moved.pos = i;
             }
             
-            void dispose() {
-                if (attached != null) {
-                    attached.getFillable().skinProperty().removeListener(skinChange);
-                    attached.getFillable().getFillableSkin().fillApplierProperty().removeListener(applierChange);
-                }
-                
-                if (prev != null) {
-                    prev.next = next;
-                }
-                
-                if (next != null) {
-                    next.prev = prev;
-                }
+            dense[last] = null;
+        }
+        
+        /**
+         * An attached fill applier, listens for its fillable's skin and its
+         * skin's fill applier changing, in which case it is removed.
+         */
+        private static final class Attached implements ChangeListener<Object> {
+            private final AttachedRegistry owner;
+            private final FillApplier<?> applier;
+            // one weak wrapper for both listened to properties
+            private final WeakChangeListener<Object> weak = new WeakChangeListener<>(this);
+            private final ObservableValue<? extends Skin<?>> skinProp;
+            private final ObservableValue<?> applierProp;
+            private int pos;
+            
+            Attached(AttachedRegistry owner, FillApplier<?> applier, int pos) {
+                this.owner = owner;
+                this.applier = applier;
+                this.pos = pos;
                 
-                prev = null;
-                next = null;
+                final Fillable fable = applier.getFillable();
+                skinProp = fable.skinProperty();
+                applierProp = fable.getFillableSkin().fillApplierProperty();
                 
-                attached = null;
+                skinProp.addListener(weak);
+                applierProp.addListener(weak);
             }
             
-            void interpolateAndApply(double frac) {
-                if (attached == null) { return; }
-                
-                attached.interpolateAndApply(frac);
+            @Override
+            public void changed(ObservableValue<?> obv, Object o, Object n) { owner.removeStale(this); }
+            
+            void dispose() {
+                skinProp.removeListener(weak);
+                applierProp.removeListener(weak);
             }
             
-        } // class AttachedApplier
+        } // class Attached
         
-        
-    } // class AttachedList
+    } // class AttachedRegistry
     
     
     /***************************************************************************
@@ -465,14 +685,14 @@ public abstract class FillApplierBase<F extends Fillable> implements FillApplier
         }
         
         fable.borderProperty().addListener(weakPropInvalidated);
-        fable.backgroundProperty().addListener(weakPropInvalidated);
+        fable.backgroundProperty().addListener(weakBgInvalidated);
     }
     
     /** Removes 'propInvalidated' listeners from fillable's properties. */
     private void removePropListeners() {
         fable.textFillProperty().removeListener(weakPropInvalidated);
         fable.shapeProperty().removeListener(weakPropInvalidated);
-        fable.backgroundProperty().removeListener(weakPropInvalidated);
+        fable.backgroundProperty().removeListener(weakBgInvalidated);
         fable.borderProperty().removeListener(weakPropInvalidated);
         
         // handle fable's shape property's stroke property
@@ -487,7 +707,13 @@ public abstract class FillApplierBase<F extends Fillable> implements FillApplier
     private void updateFill() {
         final Fill newFill = fable.getFill();
         
-        if (newFill != null && newFill.equals(fill)) { return; }
+        // fills from CSS are interned by FillCache, so an unchanged fill is
+        // usually the same instance, equals covers fills set in code
+        if (newFill == srcFill || (newFill != null && newFill.equals(srcFill))) { return; }
+        
+        srcFill = newFill;
+        // a retarget bridges to the replaced fill
+        target = null;
         
         // some aspect of fill has changed, need to reset property listeners
         removePropListeners();
@@ -504,14 +730,107 @@ public abstract class FillApplierBase<F extends Fillable> implements FillApplier
         }
         
         final boolean hasSpecial = FillHelper.fillHasSpecial(newFill);
-        fill = hasSpecial ? FillHelper.replaceSpecialsInFill(newFill, fable) : newFill;
+        fill = hasSpecial ? resolveSpecials(newFill) : newFill;
         addPropListeners(hasSpecial);
         
         updateSubAppliers();
     }
     
     private void clearSubAppliers() {
-        if (subAppliers != null) { subAppliers.clear(); }
+        Arrays.fill(subAppliers, null);
+        activeSlots = 0;
+    }
+    
+    /**
+     * Replaces the special identifiers in a fill with the fillable's current
+     * paints, reusing a previous replacement if the fill and paints are the
+     * same instances as they were then.
+     */
+    private Fill resolveSpecials(Fill src) {
+        final Shape shape = fable.getShape();
+        final Background bg = fable.getBackground();
+        final Border bd = fable.getBorder();
+        final Paint text = fable.getTextFill();
+        final Paint shapeFill = (shape == null) ? null : shape.getFill();
+        final Paint stroke = (shape == null) ? null : shape.getStroke();
+        
+        Fill res = resolved.get(src, bg, bd, text, shapeFill, stroke);
+        if (res == null) {
+            res = FillHelper.replaceSpecialsInFill(src, ReplaceContext.of(bg, bd, text, shapeFill, stroke));
+            resolved.put(src, bg, bd, text, shapeFill, stroke, res);
+        }
+        
+        return res;
+    }
+    
+    /**
+     * Creates a fill whose spans run from the displayed paints to the end
+     * paints of a fill's spans if 'forward', otherwise from the start paints
+     * of a fill's spans to the displayed paints.
+     */
+    private Fill bridge(Fill real, boolean forward) {
+        final Shape shape = fable.getShape();
+        
+        final FillSpan text = bridge(real.getTextFillSpan(), fable.getTextFill(), forward);
+        final FillSpan shapeSpan =
+        (shape == null) ? real.getShapeFillSpan() : bridge(real.getShapeFillSpan(), shape.getFill(), forward);
+        final FillSpan strokeSpan =
+        (shape == null) ? real.getStrokeFillSpan() : bridge(real.getStrokeFillSpan(), shape.getStroke(), forward);
+        
+        return new Fill(text, shapeSpan, strokeSpan, bridgeBg(real.getBgFillSpans(), forward),
+            bridgeBorder(real.getBorderFillSpans(), forward));
+    }
+    
+    /** Helper used by 'bridge', spans come from the fill span cache. */
+    private static FillSpan bridge(FillSpan span, Paint shown, boolean forward) {
+        if (span == null || shown == null) { return span; }
+        
+        return forward ? FillSpan.of(shown, span.to()) : FillSpan.of(span.from(), shown);
+    }
+    
+    /** Helper used by 'bridge', pairs spans and fills innermost first. */
+    private List<FillSpan> bridgeBg(List<FillSpan> spans, boolean forward) {
+        final Background shown = bgApplierIsRegistered() ? bgApplier.displayed() : fable.getBackground();
+        if (spans == null || shown == null) { return spans; }
+        
+        final List<BackgroundFill> bgFills = shown.getFills();
+        final int n = Math.min(spans.size(), bgFills.size());
+        
+        final List<FillSpan> bridged = new ArrayList<>(spans);
+        for (int i = 0; i < n; i++) {
+            // traverse over spans and fills in reverse
+            final int spanIdx = (spans.size() - 1) - i;
+            final Paint paint = bgFills.get((bgFills.size() - 1) - i).getFill();
+            
+            bridged.set(spanIdx, bridge(spans.get(spanIdx), paint, forward));
+        }
+        
+        return bridged;
+    }
+    
+    /** Helper used by 'bridge', pairs spans and strokes innermost first. */
+    private List<BorderFillSpan> bridgeBorder(List<BorderFillSpan> spans, boolean forward) {
+        final Border shown = fable.getBorder();
+        if (spans == null || shown == null) { return spans; }
+        
+        final List<BorderStroke> bdStrokes = shown.getStrokes();
+        final int n = Math.min(spans.size(), bdStrokes.size());
+        
+        final List<BorderFillSpan> bridged = new ArrayList<>(spans);
+        for (int i = 0; i < n; i++) {
+            // traverse over spans and strokes in reverse
+            final int spanIdx = (spans.size() - 1) - i;
+            final BorderFillSpan span = spans.get(spanIdx);
+            final BorderStroke stroke = bdStrokes.get((bdStrokes.size() - 1) - i);
+            
+            bridged.set(spanIdx,
+                BorderFillSpan.of(bridge(span.getTop(), stroke.getTopStroke(), forward),
+                    bridge(span.getRight(), stroke.getRightStroke(), forward),
+                    bridge(span.getBottom(), stroke.getBottomStroke(), forward),
+                    bridge(span.getLeft(), stroke.getLeftStroke(), forward)));
+        }
+        
+        return bridged;
     }
     
     /** Updates 'fill' and caches if they are invalid. */
@@ -519,7 +838,14 @@ public abstract class FillApplierBase<F extends Fillable> implements FillApplier
         updateCaches();
         
         final Fill f = fable.getFill();
-        fill = FillHelper.fillHasSpecial(f) ? FillHelper.replaceSpecialsInFill(f, fable) : fill;
+        if (FillHelper.fillHasSpecial(f)) {
+            // while retargeted, keep the bridge and update what it bridges to
+            if (target != null) {
+                target = resolveSpecials(f);
+            } else {
+                fill = resolveSpecials(f);
+            }
+        }
         
         fillInvalid = false;
     }
@@ -543,35 +869,74 @@ public abstract class FillApplierBase<F extends Fillable> implements FillApplier
      *                                                                         *
      **************************************************************************/
     
+    /** Slot of the text fill sub-applier. */
+    protected static final int TEXT_SLOT = 0;
+    /** Slot of the shape fill sub-applier. */
+    protected static final int SHAPE_SLOT = 1;
+    /** Slot of the stroke fill sub-applier. */
+    protected static final int STROKE_SLOT = 2;
+    /** Slot of the background fill sub-applier. */
+    protected static final int BG_SLOT = 3;
+    /** Slot of the border fill sub-applier. */
+    protected static final int BORDER_SLOT = 4;
+    /** The number of sub-applier slots. */
+    protected static final int SLOT_COUNT = 5;
+    
     /**
+     * Registers a {@code SubApplier} in a specified slot, replacing any
+     * sub-applier already registered in that slot. Sub-appliers are applied
+     * in slot order.
      * 
+     * @param slot - the slot to register the sub-applier in, one of
+     *        {@link #TEXT_SLOT}, {@link #SHAPE_SLOT}, {@link #STROKE_SLOT},
+     *        {@link #BG_SLOT} or {@link #BORDER_SLOT}
      * @param subApplier - the {@code SubApplier} to register
+     * @throws IllegalArgumentException if {@code slot} is not a valid slot
+     * @throws NullPointerException if {@code subApplier} is {@code null}
      */
-    protected final void registerSubApplier(SubApplier subApplier) {
-        if (subAppliers == null) { subAppliers = new LinkedHashMap<>(5); }
+    protected final void registerSubApplier(int slot, SubApplier subApplier) {
+        checkSlot(slot);
+        if (subApplier == null) { throw new NullPointerException("the 'subApplier' parameter is null"); }
         
-        subAppliers.put(subApplier.getClass(), subApplier);
+        subAppliers[slot] = subApplier;
+        activeSlots |= 1 << slot;
     }
     
     /**
+     * Unregisters the {@code SubApplier} in a specified slot, if any.
      * 
-     * @param subApplierClass - the class of the {@code SubApplier} to unregister
+     * @param slot - the slot of the {@code SubApplier} to unregister
+     * @throws IllegalArgumentException if {@code slot} is not a valid slot
      */
-    protected final void unregisterSubApplier(Class<? extends SubApplier> subApplierClass) {
-        if (subAppliers == null) { return; }
+    protected final void unregisterSubApplier(int slot) {
+        checkSlot(slot);
         
-        subAppliers.remove(subApplierClass);
+        subAppliers[slot] = null;
+        activeSlots &= ~(1 << slot);
     }
     
     /**
+     * Gets whether or not a {@code SubApplier} is registered in a specified
+     * slot.
      * 
-     * @param subApplierClass - the class of the {@code SubApplier} to see if
-     *        it's registered
+     * @param slot - the slot to check
+     * @return {@code true} if a sub-applier is registered in the slot,
+     *         otherwise {@code false}
+     * @throws IllegalArgumentException if {@code slot} is not a valid slot
      */
-    protected final boolean subApplierIsRegistered(Class<? extends SubApplier> subApplierClass) {
-        if (subAppliers == null) { return false; }
+    protected final boolean subApplierIsRegistered(int slot) {
+        checkSlot(slot);
         
-        return subAppliers.containsKey(subApplierClass);
+        return (activeSlots & (1 << slot)) != 0;
+    }
+    
+    /** @return {@code true} if 'bgApplier' is the registered background sub-applier */
+    private boolean bgApplierIsRegistered() { return bgApplier != null && subAppliers[BG_SLOT] == bgApplier; }
+    
+    private static void checkSlot(int slot) {
+        if (slot < 0 || slot >= SLOT_COUNT) {
+            throw new IllegalArgumentException("invalid sub-applier slot: " + slot);
+        }
     }
     
     /** */
@@ -601,6 +966,43 @@ public abstract class FillApplierBase<F extends Fillable> implements FillApplier
         public Fillable getFillable() { return FillApplierBase.this.fable; }
         @Override
         public final Fill getFill() { return FillApplierBase.this.fill; }
+        
+        /** Counts a write skipped by this sub-applier. */
+        protected final void skippedWrite() { skippedWrites += 1; }
+    }
+    
+    /**
+     * Gets whether two paints are displayed the same, colors are compared by
+     * their 8-bit channels.
+     */
+    static boolean displayedSame(Paint a, Paint b) {
+        if (a == b) { return true; }
+        if (a == null || b == null) { return false; }
+        
+        if (a instanceof Color && b instanceof Color) {
+            return FillSpanHelper.toArgb((Color) a) == FillSpanHelper.toArgb((Color) b);
+        }
+        
+        return a.equals(b);
+    }
+    
+    /** Gets whether the first 'n' paints of two arrays are displayed the same. */
+    static boolean displayedSame(Paint[] a, Paint[] b, int n) {
+        if (a == null || b == null || a.length < n || b.length < n) { return false; }
+        
+        for (int i = 0; i < n; i++) {
+            if (!displayedSame(a[i], b[i])) { return false; }
+        }
+        
+        return true;
+    }
+    
+    /** Gets the frame cache step nearest to 'frac'. */
+    static int frameStep(double frac, int res) {
+        if (frac <= 0.0) { return 0; }
+        if (frac >= 1.0) { return res; }
+        
+        return (int) Math.round(frac * res);
     }
     
     /**
@@ -608,6 +1010,7 @@ public abstract class FillApplierBase<F extends Fillable> implements FillApplier
      * any, to the {@code Fillable} instance.
      */
     protected class TextFillApplier extends SubApplierBase {
+        private Paint last; // the last written text fill
         
         /**
          * Applies the {@code Fillable} instance's text {@code FillSpan}, if
@@ -617,9 +1020,17 @@ public abstract class FillApplierBase<F extends Fillable> implements FillApplier
          */
         @Override
         public void interpolateAndApply(final double frac) {
-            if (fable.getTextFill() != null) {
-                fable.setTextFill(fill.getTextFillSpan().interpolate(frac));
+            final Paint cur = fable.getTextFill();
+            if (cur == null) { return; }
+            
+            final Paint next = fill.getTextFillSpan().interpolate(frac);
+            if (cur == last && displayedSame(last, next)) {
+                skippedWrite();
+                return;
             }
+            
+            fable.setTextFill(next);
+            last = next;
         }
         
     } // class TextFillApplier
@@ -630,13 +1041,21 @@ public abstract class FillApplierBase<F extends Fillable> implements FillApplier
      * any, to the {@code Fillable} instance's {@code shape} property.
      */
     protected class ShapeFillApplier extends SubApplierBase {
+        private Paint last; // the last written shape fill
         
         @Override
         public void interpolateAndApply(double frac) {
             final Shape shape = fable.getShape();
-            if (shape != null) {
-                shape.setFill(fill.getShapeFillSpan().interpolate(frac));
+            if (shape == null) { return; }
+            
+            final Paint next = fill.getShapeFillSpan().interpolate(frac);
+            if (shape.getFill() == last && displayedSame(last, next)) {
+                skippedWrite();
+                return;
             }
+            
+            shape.setFill(next);
+            last = next;
         }
         
     } // class ShapeFillApplier
@@ -647,13 +1066,24 @@ public abstract class FillApplierBase<F extends Fillable> implements FillApplier
      * any, to the {@code Fillable} instance's {@code shape} property.
      */
     protected class StrokeFillApplier extends SubApplierBase {
+        private Paint last; // the last written shape stroke
         
         @Override
         public void interpolateAndApply(double frac) {
             final Shape shape = fable.getShape();
-            if (shape != null && shape.getStroke() != null) {
-                shape.setStroke(fill.getStrokeFillSpan().interpolate(frac));
+            if (shape == null) { return; }
+            
+            final Paint cur = shape.getStroke();
+            if (cur == null) { return; }
+            
+            final Paint next = fill.getStrokeFillSpan().interpolate(frac);
+            if (cur == last && displayedSame(last, next)) {
+                skippedWrite();
+                return;
             }
+            
+            shape.setStroke(next);
+            last = next;
         }
         
     } // class StrokeFillApplier
@@ -664,44 +1094,294 @@ public abstract class FillApplierBase<F extends Fillable> implements FillApplier
      * any, to the {@code Fillable}.
      */
     protected class BgFillApplier extends SubApplierBase {
+        // the last written background, the background it was derived from and
+        // its interpolated paints, innermost first
+        private Background lastBase, lastWritten;
+        private Paint[] lastPaints;
+        private int lastCount;
+        // interpolated paints of the current frame, swapped with 'lastPaints'
+        private Paint[] paints;
+        // backgrounds built from 'framesBase' and 'framesFill', by step
+        private Background[] frames;
+        private Background framesBase;
+        private Fill framesFill;
         
         @Override
         public void interpolateAndApply(double frac) {
-            if (bgCache != null) {
-                List<BackgroundFill> interped = interpolateBgFillSpans(bgCache.getFills(), fill.getBgFillSpans(), frac);
-                
-                StyleableObjectProperty<Background> fableBg =
-                (StyleableObjectProperty<Background>) fable.backgroundProperty();
+            if (bgCache == null) { return; }
+            
+            final int res = frameCacheResolution;
+            if (res == FRAME_CACHES_DISABLED) {
+                frames = null;
+                apply(frac, -1);
+                return;
+            }
+            
+            // (re)create the frame cache on first use or after a key change
+            if (frames == null || frames.length != res + 1 || framesBase != bgCache || framesFill != fill) {
+                frames = new Background[res + 1];
+                framesBase = bgCache;
+                framesFill = fill;
+            }
+            
+            final int step = frameStep(frac, res);
+            Background frame = frames[step];
+            if (frame == null) {
+                // another applier may have built this frame already
+                frame = (target == null) ? FillFrameCache.getBackground(fill, bgCache, step, res) : null;
+                if (frame == null) {
+                    apply((double) step / res, step);
+                    return;
+                }
                 
-                fableBg.applyStyle(StyleOrigin.AUTHOR, new Background(interped, fable.getBackground().getImages()));
+                frames[step] = frame;
+            }
+            
+            if (frame == fable.getBackground()) {
+                skippedWrite();
+            } else {
+                write(frame);
+                // the paints of a cached frame are unknown, compare them again
+                lastCount = -1;
             }
         }
         
-        /** Helper used by 'applyBgFillSpans'. */
-        private List<BackgroundFill>
-        interpolateBgFillSpans(List<BackgroundFill> bgFills, List<FillSpan> bgSpans, double frac)
-        {
-            final List<BackgroundFill> newBgFills = new ArrayList<>(bgFills);
+        /** Interpolates, writes and, if 'step' isn't -1, caches a frame. */
+        private void apply(double frac, int step) {
+            final List<BackgroundFill> bgFills = bgCache.getFills();
+            final List<FillSpan> bgSpans = fill.getBgFillSpans();
             final int n = Math.min(bgSpans.size(), bgFills.size());
             
+            Paint[] next = paints;
+            if (next == null || next.length < n) { next = paints = new Paint[n]; }
+            
+            // traverse over spans in reverse
+            for (int i = 0, last = bgSpans.size() - 1; i < n; i++) {
+                next[i] = bgSpans.get(last - i).interpolate(frac);
+            }
+            
+            if (lastBase == bgCache && lastWritten == fable.getBackground() && lastCount == n
+                && displayedSame(lastPaints, next, n)) {
+                // the displayed background is this step's frame as well
+                if (step != -1) { frames[step] = lastWritten; }
+                skippedWrite();
+                return;
+            }
+            
+            // frames are shared, so only derive them from the base background
+            final Background bg = new Background(createBgFills(bgFills, next, n), bgCache.getImages());
+            if (step != -1) {
+                frames[step] = bg;
+                // retarget bridges are one-offs, don't share their frames
+                if (target == null) { FillFrameCache.putBackground(fill, bgCache, step, frames.length - 1, bg); }
+            }
+            
+            write(bg);
+            
+            lastCount = n;
+            paints = lastPaints;
+            lastPaints = next;
+        }
+        
+        /**
+         * Writes a frame via the background's setter, which leaves the
+         * background with a {@code USER} style origin. User agent styles do
+         * not override that origin, so a CSS pass triggered by the pseudo
+         * class changes that start most fill transitions can't reset the
+         * frame. Author styles do override it, those are handled by
+         * {@link #restoreFrame()}.
+         */
+        void write(Background bg) {
+            fable.setBackground(bg);
+            
+            lastBase = bgCache;
+            lastWritten = bg;
+        }
+        
+        /**
+         * Re-writes the last written frame if a CSS pass replaced it with the
+         * background the frame was derived from.
+         * <p>
+         * CSS passes usually re-apply the identical, cached background, only
+         * a distinct instance is compared via {@code equals}, which roughly
+         * doubles the cost of a restore. A restore writes the background a
+         * second time, so re-applying the base background to a fillable in
+         * the middle of a transition costs a few times what it costs on a
+         * plain region.
+         * 
+         * @return {@code true} if the background is the last written frame,
+         *         or it was restored, {@code false} if the background really
+         *         changed
+         */
+        private boolean restoreFrame() {
+            if (lastWritten == null) { return false; }
+            
+            final Background bg = fable.getBackground();
+            if (bg == lastWritten) { return true; }
+            if (bg != lastBase && (bg == null || !bg.equals(lastBase))) { return false; }
+            
+            applying = true;
+            fable.setBackground(lastWritten);
+            applying = false;
+            
+            restoredFrames += 1;
+            return true;
+        }
+        
+        /** Forgets the last written frame, after the fillable was reset. */
+        void forgetFrame() {
+            lastWritten = null;
+            lastCount = -1;
+        }
+        
+        /** @return whether this sub-applier fades backgrounds in on the overlay */
+        boolean usesOverlay() { return false; }
+        
+        /** @return the background the fillable displays */
+        Background displayed() { return fable.getBackground(); }
+        
+        /** Helper that replaces the paints of the innermost background fills. */
+        List<BackgroundFill> createBgFills(List<BackgroundFill> bgFills, Paint[] interped, int n) {
+            final List<BackgroundFill> newBgFills = new ArrayList<>(bgFills);
+            
             for (int i = 0; i < n; i++) {
-                // traverse over bg fills and spans in reverse
+                // traverse over bg fills in reverse
                 final int fillIdx = (newBgFills.size() - 1) - i;
-                final int spanIdx = (bgSpans.size() - 1) - i;
+                final BackgroundFill oldFill = newBgFills.get(fillIdx);
                 
-                // set old fill to new fill created from old fill and bg span
-                newBgFills.set(fillIdx, createBgFill(newBgFills.get(fillIdx), bgSpans.get(spanIdx), frac));
+                // set old fill to new fill created from old fill and paint
+                newBgFills.set(fillIdx, new BackgroundFill(interped[i], oldFill.getRadii(), oldFill.getInsets()));
             }
             
             return newBgFills;
         }
+    } // class BgFillApplier
+    
+    
+    /**
+     * Applies the {@code Fillable} instance's list of {@code FillSpan} by
+     * fading a background in on the overlay region, see
+     * {@link #setOverlay(Region)}.
+     * <p>
+     * Once per fill and base background, the fillable is given a background
+     * with the spans' fill-from colors and the overlay a background with
+     * only the spans' fill-to colors. Each frame then only sets the overlay's
+     * opacity, rather than building and writing a new {@code Background}.
+     * Blending an opaque color over another opaque color at an opacity is
+     * the same as interpolating the two colors, so this is only done if
+     * every span is between opaque colors and the base background has no
+     * images, otherwise backgrounds are interpolated as usual.
+     * <p>
+     * The overlay is a child of the fillable, so it is drawn above the
+     * fillable's border. Backgrounds are therefore also interpolated as usual
+     * while the fillable has a border, or its fill has border spans.
+     */
+    protected class OverlayBgFillApplier extends BgFillApplier {
+        // the fillable's and the overlay's backgrounds, null if not overlaid
+        private Background fromBg, toBg;
+        // the base background, border and fill the backgrounds were created for
+        private Background preparedBase;
+        private Border preparedBorder;
+        private Fill preparedFill;
+        private int count;
+        
+        @Override
+        public void interpolateAndApply(double frac) {
+            if (bgCache == null) { return; }
+            
+            if (preparedBase != bgCache || preparedBorder != bdCache || preparedFill != fill) { prepare(); }
+            
+            if (toBg == null) {
+                // the spans can't be overlaid, interpolate them instead
+                if (overlay.getOpacity() != 0.0) { overlay.setOpacity(0.0); }
+                super.interpolateAndApply(frac);
+                return;
+            }
+            
+            if (fable.getBackground() != fromBg) { write(fromBg); }
+            if (overlay.getBackground() != toBg) { overlay.setBackground(toBg); }
+            
+            final double opacity = (frac <= 0.0) ? 0.0 : (frac >= 1.0) ? 1.0 : frac;
+            if (overlay.getOpacity() == opacity) {
+                skippedWrite();
+                return;
+            }
+            
+            overlay.setOpacity(opacity);
+        }
         
+        /** Creates the fillable's and the overlay's backgrounds, if possible. */
+        private void prepare() {
+            preparedBase = bgCache;
+            preparedBorder = bdCache;
+            preparedFill = fill;
+            fromBg = toBg = null;
+            
+            // the overlay would cover the border
+            if (fill.hasBorderFillSpans() || (bdCache != null && !bdCache.getStrokes().isEmpty())) { return; }
+            
+            final List<BackgroundFill> bgFills = bgCache.getFills();
+            final List<FillSpan> bgSpans = fill.getBgFillSpans();
+            final int n = Math.min(bgSpans.size(), bgFills.size());
+            if (n == 0 || !bgCache.getImages().isEmpty()) { return; }
+            
+            final Paint[] from = new Paint[n];
+            final Paint[] to = new Paint[n];
+            
+            // traverse over spans in reverse
+            for (int i = 0, last = bgSpans.size() - 1; i < n; i++) {
+                final FillSpan span = bgSpans.get(last - i);
+                if (!isOpaqueColor(span.from()) || !isOpaqueColor(span.to())) { return; }
+                
+                from[i] = span.from();
+                to[i] = span.to();
+            }
+            
+            // fill-from colors are usually the base background's colors
+            boolean same = true;
+            for (int i = 0, last = bgFills.size() - 1; same && i < n; i++) {
+                same = displayedSame(bgFills.get(last - i).getFill(), from[i]);
+            }
+            fromBg = same ? bgCache : new Background(createBgFills(bgFills, from, n), bgCache.getImages());
+            
+            // the overlay only needs the innermost fills, it's drawn on top
+            toBg = new Background(createBgFills(bgFills, to, n).subList(bgFills.size() - n, bgFills.size()), null);
+            count = n;
+        }
         
-        /** Helper used by 'interpolateBgFillSpans'. */
-        private BackgroundFill createBgFill(BackgroundFill oldFill, FillSpan bgSpan, double frac) {
-            return new BackgroundFill(bgSpan.interpolate(frac), oldFill.getRadii(), oldFill.getInsets());
+        @Override
+        void forgetFrame() {
+            super.forgetFrame();
+            if (overlay != null) { overlay.setOpacity(0.0); }
         }
-    } // class BgFillApplier
+        
+        @Override
+        boolean usesOverlay() { return true; }
+        
+        /** Blends the overlay's colors over the fillable's, if overlaid. */
+        @Override
+        Background displayed() {
+            final Background shown = fable.getBackground();
+            final double opacity = overlay.getOpacity();
+            if (toBg == null || shown != fromBg || opacity == 0.0) { return shown; }
+            
+            final List<BackgroundFill> bgFills = shown.getFills();
+            final List<BackgroundFill> toFills = toBg.getFills();
+            final Paint[] blended = new Paint[count];
+            
+            for (int i = 0, last = bgFills.size() - 1; i < count; i++) {
+                final Color from = (Color) bgFills.get(last - i).getFill();
+                blended[i] = from.interpolate((Color) toFills.get((count - 1) - i).getFill(), opacity);
+            }
+            
+            return new Background(createBgFills(bgFills, blended, count), shown.getImages());
+        }
+        
+        private boolean isOpaqueColor(Paint paint) {
+            return paint instanceof Color && ((Color) paint).getOpacity() == 1.0;
+        }
+        
+    } // class OverlayBgFillApplier
     
     
     /**
@@ -709,51 +1389,133 @@ public abstract class FillApplierBase<F extends Fillable> implements FillApplier
      * if any, to the {@code Fillable}.
      */
     protected class BorderFillApplier extends SubApplierBase {
+        // the last written border, the border it was derived from and its
+        // interpolated top, right, bottom and left paints, innermost first
+        private Border lastBase, lastWritten;
+        private Paint[] lastPaints;
+        private int lastCount;
+        // interpolated paints of the current frame, swapped with 'lastPaints'
+        private Paint[] paints;
+        // borders built from 'framesBase' and 'framesFill', by step
+        private Border[] frames;
+        private Border framesBase;
+        private Fill framesFill;
         
         @Override
         public void interpolateAndApply(double frac) {
-            if (bdCache != null) {
-                List<BorderStroke> interped =
-                interpolateBorderFillSpans(bdCache.getStrokes(), fill.getBorderFillSpans(), frac);
+            if (bdCache == null) { return; }
+            
+            final int res = frameCacheResolution;
+            if (res == FRAME_CACHES_DISABLED) {
+                frames = null;
+                apply(frac, -1);
+                return;
+            }
+            
+            // (re)create the frame cache on first use or after a key change
+            if (frames == null || frames.length != res + 1 || framesBase != bdCache || framesFill != fill) {
+                frames = new Border[res + 1];
+                framesBase = bdCache;
+                framesFill = fill;
+            }
+            
+            final int step = frameStep(frac, res);
+            Border frame = frames[step];
+            if (frame == null) {
+                // another applier may have built this frame already
+                frame = (target == null) ? FillFrameCache.getBorder(fill, bdCache, step, res) : null;
+                if (frame == null) {
+                    apply((double) step / res, step);
+                    return;
+                }
                 
-                fable.setBorder(new Border(interped, fable.getBorder().getImages()));
+                frames[step] = frame;
+            }
+            
+            if (frame == fable.getBorder()) {
+                skippedWrite();
+            } else {
+                write(frame);
+                // the paints of a cached frame are unknown, compare them again
+                lastCount = -1;
             }
         }
         
-        /** Helper used by 'applyBorderFillSpans'. */
+        /** Interpolates, writes and, if 'step' isn't -1, caches a frame. */
+        private void apply(double frac, int step) {
+            final List<BorderStroke> bdStrokes = bdCache.getStrokes();
+            final List<BorderFillSpan> bdSpans = fill.getBorderFillSpans();
+            final int n = Math.min(bdSpans.size(), bdStrokes.size());
+            
+            Paint[] next = paints;
+            if (next == null || next.length < n * 4) { next = paints = new Paint[n * 4]; }
+            
+            // traverse over spans in reverse
+            for (int i = 0, last = bdSpans.size() - 1; i < n; i++) {
+                bdSpans.get(last - i).interpolateInto(frac, next, i * 4);
+            }
+            
+            if (lastBase == bdCache && lastWritten == fable.getBorder() && lastCount == n
+                && displayedSame(lastPaints, next, n * 4)) {
+                // the displayed border is this step's frame as well
+                if (step != -1) { frames[step] = lastWritten; }
+                skippedWrite();
+                return;
+            }
+            
+            // frames are shared, so only derive them from the base border
+            final Border bd = new Border(createBorderStrokes(bdStrokes, bdSpans, next, n), bdCache.getImages());
+            if (step != -1) {
+                frames[step] = bd;
+                // retarget bridges are one-offs, don't share their frames
+                if (target == null) { FillFrameCache.putBorder(fill, bdCache, step, frames.length - 1, bd); }
+            }
+            
+            write(bd);
+            
+            lastCount = n;
+            paints = lastPaints;
+            lastPaints = next;
+        }
+        
+        private void write(Border bd) {
+            fable.setBorder(bd);
+            
+            lastBase = bdCache;
+            lastWritten = bd;
+        }
+        
+        /** Helper that replaces the paints of the innermost border strokes. */
         private List<BorderStroke>
-        interpolateBorderFillSpans(List<BorderStroke> bdStrokes, List<BorderFillSpan> bdSpans, double frac)
+        createBorderStrokes(List<BorderStroke> bdStrokes, List<BorderFillSpan> bdSpans, Paint[] interped, int n)
         {
             final List<BorderStroke> newBdStrokes = new ArrayList<>(bdStrokes);
-            final int n = Math.min(bdSpans.size(), bdStrokes.size());
             
             for (int i = 0; i < n; i++) {
                 // traverse over strokes and spans in reverse
                 final int strokeIdx = (newBdStrokes.size() - 1) - i;
                 final int spanIdx = (bdSpans.size() - 1) - i;
                 
-                // set old stroke to new stroke created from old stroke and bd
-                // span
+                // set old stroke to new stroke created from old stroke and
+                // interpolated paints
                 newBdStrokes.set(strokeIdx,
-                    createBorderStroke(newBdStrokes.get(strokeIdx), bdSpans.get(spanIdx), frac));
+                    createBorderStroke(newBdStrokes.get(strokeIdx), bdSpans.get(spanIdx), interped, i * 4));
             }
             
             return newBdStrokes;
         }
         
-        
-        /** Helper used by 'interpolateBorderFillSpans'. */
-        private BorderStroke createBorderStroke(BorderStroke os, BorderFillSpan span, double frac) {
+        /** Helper used by 'createBorderStrokes'. */
+        private BorderStroke createBorderStroke(BorderStroke os, BorderFillSpan span, Paint[] is, int off) {
             // span.isUniform implies top == right == bottom == left
             if (span.isUniform()) {
-                return new BorderStroke(span.getTop().interpolate(frac), os.getTopStyle(), os.getRadii(),
-                    os.getWidths(), os.getInsets());
+                return new BorderStroke(is[off], os.getTopStyle(), os.getRadii(), os.getWidths(), os.getInsets());
             }
             
-            // 'is' stands for 'interpolated span'
-            Paint[] is = span.interpolate(frac);
-            return new BorderStroke(is[0], is[1], is[2], is[3], os.getTopStyle(), os.getRightStyle(),
-                os.getBottomStyle(), os.getLeftStyle(), os.getRadii(), os.getWidths(), os.getInsets());
+            // 'is' stands for 'interpolated spans'
+            return new BorderStroke(is[off], is[off + 1], is[off + 2], is[off + 3], os.getTopStyle(),
+                os.getRightStyle(), os.getBottomStyle(), os.getLeftStyle(), os.getRadii(), os.getWidths(),
+                os.getInsets());
         }
         
     } // class BorderFillApplier
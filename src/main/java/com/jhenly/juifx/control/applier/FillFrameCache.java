@@ -0,0 +1,341 @@
+package com.jhenly.juifx.control.applier;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import impl.com.jhenly.juifx.fill.Fill;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.Border;
+
+
+/**
+ * Class for sharing interpolated {@code Background} and {@code Border}
+ * frames between fill appliers.
+ * <p>
+ * Controls styled by the same stylesheet usually share the same {@link Fill}
+ * and the same base {@code Background} and {@code Border} instances, so
+ * controls animating through the same states would otherwise each build
+ * their own, identical frames. This class keeps a static, bounded cache of
+ * frames keyed on the applied fill, the identity of the base background or
+ * border and the quantized interpolate fraction, see
+ * {@link FillApplierBase#setFrameCacheResolution(int)}. {@code Background} and
+ * {@code Border} are immutable, so cached frames can be shared freely.
+ * <p>
+ * The cache is enabled by default. The cache can be disabled via
+ * {@link #disableCache()}, cleared via {@link #clearCache()} and re-enabled
+ * via {@link #enableCache()}. The cache's memory use is capped at
+ * {@link #getMaxBytes()} estimated bytes, once the cap is reached the least
+ * recently used frames are evicted. Hit and miss counts can be queried to
+ * judge whether the cache is helping.
+ *
+ * @author Jonathan Henly
+ * @since JuiFX 1.0
+ *
+ * @see FillApplierBase#setFrameCacheResolution(int)
+ */
+public final class FillFrameCache {
+    
+    /** The default cap, in estimated bytes, on the cache's memory use. */
+    public static final long DEFAULT_MAX_BYTES = 4L * 1024L * 1024L;
+    
+    // estimated sizes, in bytes, of the parts of a cached frame
+    private static final int ENTRY_SIZE = 72; // map entry and key
+    private static final int WRAPPER_SIZE = 104; // background or border and its lists
+    private static final int BG_LAYER_SIZE = 36; // background fill and list slot
+    private static final int BD_LAYER_SIZE = 92; // border stroke and list slot
+    
+    
+    /**************************************************************************
+     *                                                                        *
+     * Static Members                                                         *
+     *                                                                        *
+     *************************************************************************/
+    
+    // used to indicate if the cache is enabled or not
+    private static volatile boolean isDisabled = false;
+    
+    // the cache's memory cap
+    private static volatile long maxBytes = DEFAULT_MAX_BYTES;
+    
+    
+    /**************************************************************************
+     *                                                                        *
+     * Public API                                                             *
+     *                                                                        *
+     *************************************************************************/
+    
+    /**
+     * Gets whether or not the cache of frames is enabled.
+     *
+     * @return {@code true} if the cache of frames is enabled, otherwise
+     *         {@code false}
+     */
+    public static final boolean isCacheEnabled() { return !isDisabled; }
+    
+    /**
+     * Enables the caching of frames.
+     */
+    public static final void enableCache() { isDisabled = false; }
+    
+    /**
+     * Disables the caching of frames, fill appliers then only use their own
+     * frame caches.
+     */
+    public static final void disableCache() { isDisabled = true; }
+    
+    /**
+     * Gets the number of cached frames.
+     * @return the number of cached frames
+     */
+    public static int getCacheSize() { return getCache().size(); }
+    
+    /**
+     * Gets the estimated number of bytes retained by the cached frames.
+     * @return the estimated number of bytes retained by the cache
+     */
+    public static long getEstimatedBytes() { return getCache().bytes(); }
+    
+    /**
+     * Clears the cache of frames.
+     */
+    public static final void clearCache() { getCache().clear(); }
+    
+    /**
+     * Gets the cap, in estimated bytes, on the cache's memory use.
+     *
+     * @return the cache's memory cap
+     */
+    public static long getMaxBytes() { return maxBytes; }
+    
+    /**
+     * Sets the cap, in estimated bytes, on the cache's memory use. If the
+     * cache currently retains more than the specified cap, then frames are
+     * evicted immediately.
+     *
+     * @param max - the cache's memory cap, must be greater than {@code 0}
+     * @throws IllegalArgumentException if {@code max} is less than {@code 1}
+     */
+    public static void setMaxBytes(long max) {
+        if (max < 1L) { throw new IllegalArgumentException("the 'max' parameter must be greater than 0"); }
+        
+        maxBytes = max;
+        getCache().trim();
+    }
+    
+    /**
+     * Gets the number of lookups that found a cached frame.
+     * @return the cache's hit count
+     */
+    public static long getHitCount() { return getCache().hits(); }
+    
+    /**
+     * Gets the number of lookups that did not find a cached frame.
+     * @return the cache's miss count
+     */
+    public static long getMissCount() { return getCache().misses(); }
+    
+    /**
+     * Gets the number of frames evicted to respect the memory cap.
+     * @return the cache's eviction count
+     */
+    public static long getEvictionCount() { return getCache().evictions(); }
+    
+    /**
+     * Gets the ratio of hits to lookups.
+     *
+     * @return the cache's hit rate, or {@code 0.0} if there have been no
+     *         lookups
+     */
+    public static double getHitRate() {
+        final long hits = getHitCount();
+        final long total = hits + getMissCount();
+        
+        return (total == 0L) ? 0.0 : (double) hits / total;
+    }
+    
+    
+    /**************************************************************************
+     *                                                                        *
+     * Package Private API                                                    *
+     *                                                                        *
+     *************************************************************************/
+    
+    /**
+     * Gets the cached background frame of a fill at a quantized step.
+     *
+     * @param fill - the fill being applied
+     * @param base - the base background the frame is derived from
+     * @param step - the quantized step
+     * @param res - the frame cache resolution
+     * @return the cached frame, or {@code null} if there is none
+     */
+    static Background getBackground(Fill fill, Background base, int step, int res) {
+        return isDisabled ? null : (Background) getCache().get(new Key(fill, base, step, res));
+    }
+    
+    /**
+     * Caches the background frame of a fill at a quantized step.
+     *
+     * @param fill - the fill being applied
+     * @param base - the base background the frame is derived from
+     * @param step - the quantized step
+     * @param res - the frame cache resolution
+     * @param frame - the background frame
+     */
+    static void putBackground(Fill fill, Background base, int step, int res, Background frame) {
+        if (isDisabled) { return; }
+        
+        final int bytes = ENTRY_SIZE + WRAPPER_SIZE + BG_LAYER_SIZE * frame.getFills().size();
+        getCache().put(new Key(fill, base, step, res), frame, bytes);
+    }
+    
+    /**
+     * Gets the cached border frame of a fill at a quantized step.
+     *
+     * @param fill - the fill being applied
+     * @param base - the base border the frame is derived from
+     * @param step - the quantized step
+     * @param res - the frame cache resolution
+     * @return the cached frame, or {@code null} if there is none
+     */
+    static Border getBorder(Fill fill, Border base, int step, int res) {
+        return isDisabled ? null : (Border) getCache().get(new Key(fill, base, step, res));
+    }
+    
+    /**
+     * Caches the border frame of a fill at a quantized step.
+     *
+     * @param fill - the fill being applied
+     * @param base - the base border the frame is derived from
+     * @param step - the quantized step
+     * @param res - the frame cache resolution
+     * @param frame - the border frame
+     */
+    static void putBorder(Fill fill, Border base, int step, int res, Border frame) {
+        if (isDisabled) { return; }
+        
+        final int bytes = ENTRY_SIZE + WRAPPER_SIZE + BD_LAYER_SIZE * frame.getStrokes().size();
+        getCache().put(new Key(fill, base, step, res), frame, bytes);
+    }
+    
+    
+    /**************************************************************************
+     *                                                                        *
+     * Cache API                                                              *
+     *                                                                        *
+     *************************************************************************/
+    
+    // lazy, thread safe instantiation
+    private static final class Holder {
+        static final FillFrameCache INSTANCE = new FillFrameCache();
+    }
+    
+    /**
+     * Gets the cache of frames.
+     * @return the cache of frames
+     */
+    private static final FillFrameCache getCache() { return Holder.INSTANCE; }
+    
+    /** Access ordered, so the eldest entry is the least recently used. */
+    private final LinkedHashMap<Key, Frame> map = new LinkedHashMap<>(64, 0.75f, true);
+    
+    // guarded by this cache
+    private long bytes, hits, misses, evictions;
+    
+    /** Creates cache, only one cache is created via Holder.INSTANCE */
+    private FillFrameCache() {}
+    
+    private synchronized Object get(Key key) {
+        final Frame frame = map.get(key);
+        if (frame == null) {
+            misses += 1;
+            return null;
+        }
+        
+        hits += 1;
+        return frame.value;
+    }
+    
+    private synchronized void put(Key key, Object value, int size) {
+        final Frame prev = map.put(key, new Frame(value, size));
+        if (prev != null) { bytes -= prev.bytes; }
+        
+        bytes += size;
+        trim();
+    }
+    
+    private synchronized int size() { return map.size(); }
+    
+    private synchronized long bytes() { return bytes; }
+    
+    private synchronized long hits() { return hits; }
+    
+    private synchronized long misses() { return misses; }
+    
+    private synchronized long evictions() { return evictions; }
+    
+    private synchronized void clear() {
+        map.clear();
+        bytes = 0L;
+    }
+    
+    /** Evicts least recently used frames until the memory cap is met. */
+    private synchronized void trim() {
+        final long max = maxBytes;
+        
+        final Iterator<Frame> it = map.values().iterator();
+        while (bytes > max && it.hasNext()) {
+            bytes -= it.next().bytes;
+            it.remove();
+            evictions += 1;
+        }
+    }
+    
+    /** A cached frame and its estimated size. */
+    private static final class Frame {
+        private final Object value;
+        private final int bytes;
+        
+        private Frame(Object value, int bytes) {
+            this.value = value;
+            this.bytes = bytes;
+        }
+    }
+    
+    /**
+     * Frame key, fills are compared by value, which is cheap for fills made
+     * of cached fill spans, base backgrounds and borders by identity.
+     */
+    private static final class Key {
+        private final Fill fill;
+        private final Object base;
+        private final int step, res;
+        private final int hash;
+        
+        private Key(Fill fill, Object base, int step, int res) {
+            this.fill = fill;
+            this.base = base;
+            this.step = step;
+            this.res = res;
+            
+            int h = fill.hashCode();
+            h = 31 * h + System.identityHashCode(base);
+            h = 31 * h + step;
+            hash = 31 * h + res;
+        }
+        
+        @Override
+        public int hashCode() { return hash; }
+        
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) { return true; }
+            if (!(obj instanceof Key)) { return false; }
+            
+            final Key that = (Key) obj;
+            return hash == that.hash && base == that.base && step == that.step && res == that.res
+                   && fill.equals(that.fill);
+        }
+    }
+    
+}
@@ -24,6 +24,7 @@ package com.jhenly.juifx.control.skin;
 
 import com.jhenly.juifx.animation.JuiFillTransition;
 import com.jhenly.juifx.control.FillButton;
+import com.jhenly.juifx.control.FillMode;
 import com.jhenly.juifx.control.applier.FillApplier;
 import com.jhenly.juifx.control.applier.FillButtonApplier;
 
@@ -36,6 +37,7 @@ import javafx.beans.value.WeakChangeListener;
 import javafx.event.EventHandler;
 import javafx.scene.control.skin.ButtonSkin;
 import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Region;
 
 
 /**
@@ -58,6 +60,8 @@ public class FillButtonSkin<C extends FillButton> extends ButtonSkin implements
     private JuiFillTransition jfTrans;
     private BooleanBinding fillDisabled;
     private EventHandler<MouseEvent> clickedHandler;
+    // no initializer, the super constructor calls updateChildren before it would run
+    private Region overlay;
     
     
     /***************************************************************************
@@ -94,6 +98,9 @@ public class FillButtonSkin<C extends FillButton> extends ButtonSkin implements
         
         // register FillButton change listeners
         registerChangeListener(control.fillEnabledProperty(), o -> onFillEnabled(getFillable().isFillEnabled()));
+        registerChangeListener(control.fillProperty(), o -> onFillChanged());
+        registerChangeListener(control.fillModeProperty(), o -> updateFillMode());
+        updateFillMode();
         
         // register Node change listeners
         registerChangeListener(control.hoverProperty(), o -> onHover(getFillable().isHover()));
@@ -143,6 +150,34 @@ public class FillButtonSkin<C extends FillButton> extends ButtonSkin implements
     }
     
     
+    /***************************************************************************
+     *                                                                         *
+     * Protected API (from LabeledSkinBase)                                    *
+     *                                                                         *
+     **************************************************************************/
+    
+    /** {@inheritDoc} */
+    @Override
+    protected void updateChildren() {
+        super.updateChildren();
+        
+        // keep the fill overlay behind the text and graphic
+        if (overlay != null) { getChildren().add(0, overlay); }
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    protected void layoutChildren(double x, double y, double w, double h) {
+        super.layoutChildren(x, y, w, h);
+        
+        // background fill insets are relative to the control's bounds
+        if (overlay != null) {
+            final C fable = getFillable();
+            overlay.resizeRelocate(0, 0, fable.getWidth(), fable.getHeight());
+        }
+    }
+    
+    
     /***************************************************************************
      *                                                                         *
      * Public API (from FillableSkin)                                          *
@@ -172,6 +207,31 @@ public class FillButtonSkin<C extends FillButton> extends ButtonSkin implements
      *                                                                         *
      **************************************************************************/
     
+    private void updateFillMode() {
+        final boolean useOverlay = getFillable().getFillMode() == FillMode.OVERLAY;
+        if (useOverlay == (overlay != null)) { return; }
+        
+        if (useOverlay) {
+            overlay = new FillOverlay();
+            getChildren().add(0, overlay);
+        } else {
+            getChildren().remove(overlay);
+            overlay = null;
+        }
+        
+        // fall back to interpolating if the applier doesn't support overlays
+        if (!getFillApplier().setOverlay(overlay) && overlay != null) {
+            getChildren().remove(overlay);
+            overlay = null;
+        }
+    }
+    
+    private void onFillChanged() {
+        // continue from the displayed paints, rather than jumping to the new
+        // fill's paints at the transition's current position
+        if (jfTrans.isPlaying()) { jfTrans.retarget(); }
+    }
+    
     private void onFillEnabled(final boolean enabled) {
         if (!enabled) {
             // go back to start, reset fillable to its pre-fill state
@@ -199,14 +259,14 @@ public class FillButtonSkin<C extends FillButton> extends ButtonSkin implements
         if (fillDisabled.get()) { return; }
         
         if (isHovering) {
-            jfTrans.playForward();
+            jfTrans.requestForward();
         } else {
             final C fable = getFillable();
             
             // don't un-fill if the button has focus and it's not armed
             if (fable.isFillOnFocus() && fable.isFocused()) { return; }
             
-            jfTrans.playBackward();
+            jfTrans.requestBackward();
         }
     }
     
@@ -215,9 +275,9 @@ public class FillButtonSkin<C extends FillButton> extends ButtonSkin implements
         if (fillDisabled.get() || getFillable().isHover()) { return; }
         
         if (isFocused && !getFillable().isPressed()) {
-            jfTrans.playForward();
+            jfTrans.requestForward();
         } else {
-            jfTrans.playBackward();
+            jfTrans.requestBackward();
         }
         
     }
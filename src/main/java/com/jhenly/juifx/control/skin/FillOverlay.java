@@ -0,0 +1,36 @@
+package com.jhenly.juifx.control.skin;
+
+import com.jhenly.juifx.control.FillMode;
+import com.jhenly.juifx.control.applier.FillApplier;
+
+import javafx.scene.layout.Region;
+
+
+/**
+ * Region that fillable skins place behind their content when a control's
+ * fill mode is {@link FillMode#OVERLAY}. The skin's {@link FillApplier}
+ * styles the overlay with a background and fades it in by animating its
+ * opacity, see {@link FillApplier#setOverlay(Region)}.
+ * <p>
+ * The overlay is unmanaged and mouse transparent, the skin sizes it to the
+ * control's bounds. It can be styled via the {@code fill-overlay} style
+ * class.
+ *
+ * @author Jonathan Henly
+ * @since JuiFX 1.0
+ */
+class FillOverlay extends Region {
+    
+    private static final String DEFAULT_STYLE_CLASS = "fill-overlay"; //$NON-NLS-1$
+    
+    /** Creates a transparent, unmanaged and mouse transparent overlay. */
+    FillOverlay() {
+        getStyleClass().add(DEFAULT_STYLE_CLASS);
+        
+        setManaged(false);
+        setMouseTransparent(true);
+        setFocusTraversable(false);
+        setOpacity(0.0);
+    }
+    
+}
@@ -2,6 +2,7 @@ package com.jhenly.juifx.control.skin;
 
 import com.jhenly.juifx.animation.JuiFillTransition;
 import com.jhenly.juifx.control.FillButton;
+import com.jhenly.juifx.control.FillMode;
 import com.jhenly.juifx.control.SelectableFillButton;
 import com.jhenly.juifx.control.applier.FillApplier;
 import com.jhenly.juifx.control.applier.SelectableFillButtonApplier;
@@ -13,6 +14,7 @@ import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.WeakChangeListener;
+import javafx.scene.layout.Region;
 
 
 /**
@@ -36,6 +38,8 @@ implements FillableSkin<C>
     
     private JuiFillTransition jfTrans;
     private BooleanBinding fillDisabledOrSelected;
+    // no initializer, the super constructor calls updateChildren before it would run
+    private Region overlay;
     
     
     /***************************************************************************
@@ -72,6 +76,9 @@ implements FillableSkin<C>
         
         // register FillButton change listeners
         registerChangeListener(control.fillEnabledProperty(), o -> onFillEnabled(getFillable().isFillEnabled()));
+        registerChangeListener(control.fillProperty(), o -> onFillChanged());
+        registerChangeListener(control.fillModeProperty(), o -> updateFillMode());
+        updateFillMode();
         
         // register SelectableButton change listeners
         registerChangeListener(control.selectedProperty(), o -> onSelected(getFillable().isSelected()));
@@ -126,6 +133,34 @@ implements FillableSkin<C>
     }
     
     
+    /***************************************************************************
+     *                                                                         *
+     * Protected API (from LabeledSkinBase)                                    *
+     *                                                                         *
+     **************************************************************************/
+    
+    /** {@inheritDoc} */
+    @Override
+    protected void updateChildren() {
+        super.updateChildren();
+        
+        // keep the fill overlay behind the text and graphic
+        if (overlay != null) { getChildren().add(0, overlay); }
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    protected void layoutChildren(double x, double y, double w, double h) {
+        super.layoutChildren(x, y, w, h);
+        
+        // background fill insets are relative to the control's bounds
+        if (overlay != null) {
+            final C fable = getFillable();
+            overlay.resizeRelocate(0, 0, fable.getWidth(), fable.getHeight());
+        }
+    }
+    
+    
     /***************************************************************************
      *                                                                         *
      * Public API (from FillableSkin)                                          *
@@ -153,6 +188,31 @@ implements FillableSkin<C>
      *                                                                         *
      **************************************************************************/
     
+    private void updateFillMode() {
+        final boolean useOverlay = getFillable().getFillMode() == FillMode.OVERLAY;
+        if (useOverlay == (overlay != null)) { return; }
+        
+        if (useOverlay) {
+            overlay = new FillOverlay();
+            getChildren().add(0, overlay);
+        } else {
+            getChildren().remove(overlay);
+            overlay = null;
+        }
+        
+        // fall back to interpolating if the applier doesn't support overlays
+        if (!getFillApplier().setOverlay(overlay) && overlay != null) {
+            getChildren().remove(overlay);
+            overlay = null;
+        }
+    }
+    
+    private void onFillChanged() {
+        // continue from the displayed paints, rather than jumping to the new
+        // fill's paints at the transition's current position
+        if (jfTrans.isPlaying()) { jfTrans.retarget(); }
+    }
+    
     private void onFillEnabled(final boolean enabled) {
         if (!enabled) {
             // don't alter fillable's look if its selected
@@ -183,7 +243,7 @@ implements FillableSkin<C>
         if (fillDisabledOrSelected.get()) { return; }
         
         if (!armed) {
-            jfTrans.playBackward();
+            jfTrans.requestBackward();
         }
         
     }
@@ -193,18 +253,18 @@ implements FillableSkin<C>
         if (fillDisabledOrSelected.get()) { return; }
         
         if (isHovering) {
-            jfTrans.playForward();
+            jfTrans.requestForward();
         } else {
             final C fable = getFillable();
             if (fable.isArmed()) {
-                jfTrans.playBackward();
+                jfTrans.requestBackward();
                 return;
             }
             
             // don't un-fill if the button has focus and it's not armed
             if (fable.isFillOnFocus() && fable.isFocused()) { return; }
             
-            jfTrans.playBackward();
+            jfTrans.requestBackward();
         }
     }
     
@@ -213,9 +273,9 @@ implements FillableSkin<C>
         if (fillDisabledOrSelected.get() || getFillable().isHover()) { return; }
         
         if (isFocused && !getFillable().isPressed()) {
-            jfTrans.playForward();
+            jfTrans.requestForward();
         } else {
-            jfTrans.playBackward();
+            jfTrans.requestBackward();
         }
         
     }
@@ -183,10 +183,45 @@ public class BorderFillSpan implements Interpolatable<Paint[]> {
      * @see FillSpan#interpolate(double)
      */
     public Paint[] interpolate(double frac) {
-        return new Paint[] { getTop().interpolate(frac), //
-                             getRight().interpolate(frac), //
-                             getBottom().interpolate(frac), //
-                             getLeft().interpolate(frac) };
+        final Paint[] interped = new Paint[4];
+        interpolateInto(frac, interped, 0);
+        
+        return interped;
+    }
+    
+    /**
+     * Interpolates the {@code FillSpan} instances that make up this
+     * {@code BorderFillSpan} instance into the first 4 elements of a specified
+     * array, without allocating an array.
+     * 
+     * @param frac - fraction between {@code 0.0} and {@code 1.0}
+     * @param dest - the array to store the interpolated paints in, in the
+     *        order {@code [top, right, bottom, left]}
+     * @throws ArrayIndexOutOfBoundsException if {@code dest} is shorter than
+     *         4
+     * @see #interpolate(double)
+     */
+    public final void interpolateInto(double frac, Paint[] dest) { interpolateInto(frac, dest, 0); }
+    
+    /**
+     * Interpolates the {@code FillSpan} instances that make up this
+     * {@code BorderFillSpan} instance into 4 elements of a specified array,
+     * starting at a specified offset, without allocating an array. Uniform
+     * border fill spans interpolate once and bi-directional border fill spans
+     * interpolate twice.
+     * 
+     * @param frac - fraction between {@code 0.0} and {@code 1.0}
+     * @param dest - the array to store the interpolated paints in, in the
+     *        order {@code [top, right, bottom, left]}
+     * @param offset - the index in {@code dest} to store the top paint in
+     * @throws ArrayIndexOutOfBoundsException if {@code dest} has less than 4
+     *         elements from {@code offset}
+     * @see #interpolate(double)
+     */
+    public void interpolateInto(double frac, Paint[] dest, int offset) {
+        // top == right == bottom == left
+        final Paint p = top.interpolate(frac);
+        dest[offset] = dest[offset + 1] = dest[offset + 2] = dest[offset + 3] = p;
     }
     
     /** {@inheritDoc} */
@@ -349,6 +384,13 @@ public class BorderFillSpan implements Interpolatable<Paint[]> {
         @Override
         public FillSpan getLeft() { return right; }
         
+        @Override
+        public void interpolateInto(double frac, Paint[] dest, int offset) {
+            // top == bottom and right == left
+            dest[offset] = dest[offset + 2] = getTop().interpolate(frac);
+            dest[offset + 1] = dest[offset + 3] = right.interpolate(frac);
+        }
+        
         @Override
         boolean isSpecial() { return special; }
         
@@ -396,6 +438,14 @@ public class BorderFillSpan implements Interpolatable<Paint[]> {
         @Override
         public FillSpan getLeft() { return left; }
         
+        @Override
+        public void interpolateInto(double frac, Paint[] dest, int offset) {
+            dest[offset] = getTop().interpolate(frac);
+            dest[offset + 1] = getRight().interpolate(frac);
+            dest[offset + 2] = bottom.interpolate(frac);
+            dest[offset + 3] = left.interpolate(frac);
+        }
+        
         @Override
         protected boolean equals(BorderFillSpan that) {
             if (!(that instanceof QuadBorderFillSpan)) { return false; }
@@ -0,0 +1,141 @@
+/** Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License. */
+package impl.com.jhenly.juifx.fill;
+
+import javafx.scene.paint.Color;
+
+
+/**
+ * A {@code ColorFillSpan} is a specialized {@code FillSpan} where both
+ * <i>fill-from</i> and <i>fill-to</i> are instances of {@link Color}.
+ * <p>
+ * Rather than invoking {@link Color#interpolate(Color, double)}, which
+ * allocates a new {@code Color} on every call, a {@code ColorFillSpan} keeps
+ * its fill-from and fill-to as packed 8-bit ARGB integers and interpolates
+ * each channel with plain integer arithmetic. Interpolated colors are kept in
+ * a small per span cache, so replaying a transition hands back the same
+ * {@code Color} instances instead of allocating new ones.
+ *
+ * @author Jonathan Henly
+ * @since JuiFX 1.0
+ *
+ * @see FillSpan
+ */
+final class ColorFillSpan extends FillSpan {
+    
+    // size of the interpolated color cache, must be a power of two
+    private static final int OUT_CACHE_BITS = 6;
+    private static final int OUT_CACHE_SIZE = 1 << OUT_CACHE_BITS;
+    
+    
+    /**************************************************************************
+     *                                                                        *
+     * Private Members                                                        *
+     *                                                                        *
+     *************************************************************************/
+    
+    // fill-from and fill-to packed as 0xAARRGGBB
+    private final int fromArgb, toArgb;
+    
+    /**
+     * Lazily created cache of interpolated colors. Entries are immutable, so
+     * racing writers can at worst replace each other's entries.
+     */
+    private OutEntry[] outCache;
+    
+    
+    /**************************************************************************
+     *                                                                        *
+     * Constructor(s)                                                         *
+     *                                                                        *
+     *************************************************************************/
+    
+    /**
+     * Creates a {@code ColorFillSpan} with the specified fill-from and fill-to
+     * colors.
+     * <p>
+     * This constructor's parameters can never be null.
+     *
+     * @param from - the fill-from color
+     * @param to - the fill-to color
+     */
+    ColorFillSpan(Color from, Color to) {
+        super(from, to);
+        
+        fromArgb = FillSpanHelper.toArgb(from);
+        toArgb = FillSpanHelper.toArgb(to);
+    }
+    
+    
+    /**************************************************************************
+     *                                                                        *
+     * Methods                                                                *
+     *                                                                        *
+     *************************************************************************/
+    
+    /** {@inheritDoc} */
+    @Override
+    protected Color interpolateImpl(double frac) {
+        final int f = fromArgb, t = toArgb;
+        
+        final int a = lerp(f >>> 24, t >>> 24, frac);
+        final int r = lerp((f >>> 16) & 0xFF, (t >>> 16) & 0xFF, frac);
+        final int g = lerp((f >>> 8) & 0xFF, (t >>> 8) & 0xFF, frac);
+        final int b = lerp(f & 0xFF, t & 0xFF, frac);
+        
+        return getColor((a << 24) | (r << 16) | (g << 8) | b);
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    FillSpanCache.SpanKind cacheKind() { return FillSpanCache.SpanKind.COLOR; }
+    
+    /** {@inheritDoc} */
+    @Override
+    int estimateSize() { return SHALLOW_SIZE + 16; }
+    
+    /** Gets the cached color for a packed ARGB value, creating it if needed. */
+    private Color getColor(int argb) {
+        OutEntry[] cache = outCache;
+        if (cache == null) { outCache = cache = new OutEntry[OUT_CACHE_SIZE]; }
+        
+        final int idx = (argb * 0x9E3779B9) >>> (32 - OUT_CACHE_BITS);
+        
+        final OutEntry entry = cache[idx];
+        if (entry != null && entry.argb == argb) { return entry.color; }
+        
+        final Color color = Color.rgb((argb >>> 16) & 0xFF, (argb >>> 8) & 0xFF, argb & 0xFF, (argb >>> 24) / 255.0);
+        cache[idx] = new OutEntry(argb, color);
+        
+        return color;
+    }
+    
+    /** Linearly interpolates a single 8-bit channel. */
+    private static int lerp(int from, int to, double frac) {
+        return (from == to) ? from : from + (int) Math.round((to - from) * frac);
+    }
+    
+    /** An immutable interpolated color cache entry. */
+    private static final class OutEntry {
+        final int argb;
+        final Color color;
+        
+        OutEntry(int argb, Color color) {
+            this.argb = argb;
+            this.color = color;
+        }
+    }
+    
+}
@@ -75,6 +75,11 @@ public class Fill {
                 return Fill.replaceSpecialsInFill(fill, fable);
             }
             
+            @Override
+            public Fill replaceSpecialsInFill(Fill fill, ReplaceContext ctx) {
+                return Fill.replaceSpecialsInFill(fill, ctx);
+            }
+            
         });
         
     }
@@ -513,6 +518,11 @@ public class Fill {
     final boolean hasSpecial() { return hasSpecial; }
     
     /**
+     * Replaces the special identifiers in a {@code Fill} with the current
+     * paints of a {@code Fillable}.
+     * <p>
+     * This snapshots the {@code Fillable} via {@link ReplaceContext#of(Fillable)}
+     * so it must be invoked on the thread that owns the {@code Fillable}.
      * 
      * @param fill - the {@code Fill} to replace the special identifiers in
      * @param fable - the {@code Fillable} to use to replace the special
@@ -522,11 +532,28 @@ public class Fill {
     static final Fill replaceSpecialsInFill(Fill fill, Fillable fable) {
         if (fill == null || fable == null || !fill.hasSpecial) { return fill; }
         
-        FillSpan repText = FillSpanHelper.getFillSpanFromSpecial(fill.textSpan, fable);
-        FillSpan repShape = FillSpanHelper.getFillSpanFromSpecial(fill.shapeSpan, fable);
-        FillSpan repStroke = FillSpanHelper.getFillSpanFromSpecial(fill.strokeSpan, fable);
-        List<FillSpan> repBg = FillSpanHelper.getFillSpanListFromSpecial(fill.bgSpans, fable);
-        List<BorderFillSpan> repBd = FillSpanHelper.getBorderFillSpanListFromSpecial(fill.bdSpans, fable);
+        return replaceSpecialsInFill(fill, ReplaceContext.of(fable));
+    }
+    
+    /**
+     * Replaces the special identifiers in a {@code Fill} with the paints held
+     * by a {@code ReplaceContext}.
+     * <p>
+     * The context is immutable and the replacers hold no state, so this method
+     * can be invoked from any thread, concurrently.
+     * 
+     * @param fill - the {@code Fill} to replace the special identifiers in
+     * @param ctx - the context to get replacement paints from
+     * @return a {@code Fill} instance resembling the replacements
+     */
+    static final Fill replaceSpecialsInFill(Fill fill, ReplaceContext ctx) {
+        if (fill == null || ctx == null || !fill.hasSpecial) { return fill; }
+        
+        FillSpan repText = FillSpanHelper.getFillSpanFromSpecial(fill.textSpan, ctx);
+        FillSpan repShape = FillSpanHelper.getFillSpanFromSpecial(fill.shapeSpan, ctx);
+        FillSpan repStroke = FillSpanHelper.getFillSpanFromSpecial(fill.strokeSpan, ctx);
+        List<FillSpan> repBg = FillSpanHelper.getFillSpanListFromSpecial(fill.bgSpans, ctx);
+        List<BorderFillSpan> repBd = FillSpanHelper.getBorderFillSpanListFromSpecial(fill.bdSpans, ctx);
         
         return new Fill(repText, repShape, repStroke, repBg, repBd);
     }
@@ -0,0 +1,226 @@
+package impl.com.jhenly.juifx.fill;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+
+/**
+ * Class for interning {@code Fill} instances assembled from CSS.
+ * <p>
+ * Every CSS pass converts a node's {@code -fill-*} sub-properties and
+ * assembles a {@link Fill} from them. This class keeps a static, bounded
+ * cache of assembled {@code Fill} instances keyed on the values of the ten
+ * {@code -fill-*} sub-properties, so identically styled nodes, and repeated
+ * CSS passes over the same node, all get the same canonical {@code Fill}
+ * instance. Code holding a canonical {@code Fill} can therefore detect that
+ * nothing changed with a reference comparison.
+ * <p>
+ * The cache is enabled by default. The size of the cache can be queried via
+ * {@link #getCacheSize()}. The cache can be disabled via
+ * {@link #disableCache()}, cleared via {@link #clearCache()} and re-enabled
+ * via {@link #enableCache()}. Once the cache holds
+ * {@link #getMaxCacheSize()} fills, the least recently used fill is evicted.
+ *
+ * @author Jonathan Henly
+ * @since JuiFX 1.0
+ *
+ * @see FillSpanCache
+ */
+public final class FillCache {
+    
+    /** The default maximum number of cached fills. */
+    public static final int DEFAULT_MAX_CACHE_SIZE = 512;
+    
+    
+    /**************************************************************************
+     *                                                                        *
+     * Static Members                                                         *
+     *                                                                        *
+     *************************************************************************/
+    
+    // used to indicate if the cache is enabled or not
+    private static volatile boolean isDisabled = false;
+    
+    // the cache's size bound
+    private static volatile int maxSize = DEFAULT_MAX_CACHE_SIZE;
+    
+    
+    /**************************************************************************
+     *                                                                        *
+     * Public API                                                             *
+     *                                                                        *
+     *************************************************************************/
+    
+    /**
+     * Gets whether or not the cache of {@link Fill} instances is enabled.
+     *
+     * @return {@code true} if the cache of {@code Fill} instances is enabled,
+     *         otherwise {@code false}
+     */
+    public static final boolean isCacheEnabled() { return !isDisabled; }
+    
+    /**
+     * Enables the caching of {@link Fill} instances.
+     */
+    public static final void enableCache() { isDisabled = false; }
+    
+    /**
+     * Disables the caching of {@link Fill} instances.
+     */
+    public static final void disableCache() { isDisabled = true; }
+    
+    /**
+     * Gets the size of the cache of {@link Fill} instances.
+     * @return the size of the cache of {@code Fill} instances
+     */
+    public static int getCacheSize() { return getCache().size(); }
+    
+    /**
+     * Clears the cache of {@link Fill} instances.
+     */
+    public static final void clearCache() { getCache().clear(); }
+    
+    /**
+     * Gets the maximum number of {@link Fill} instances the cache will hold
+     * before evicting.
+     *
+     * @return the maximum size of the cache
+     */
+    public static int getMaxCacheSize() { return maxSize; }
+    
+    /**
+     * Sets the maximum number of {@link Fill} instances the cache will hold
+     * before evicting the least recently used fill. If the cache currently
+     * holds more fills than the specified maximum, then fills are evicted
+     * immediately.
+     *
+     * @param max - the maximum size of the cache, must be greater than
+     *        {@code 0}
+     * @throws IllegalArgumentException if {@code max} is less than {@code 1}
+     */
+    public static void setMaxCacheSize(int max) {
+        if (max < 1) { throw new IllegalArgumentException("the 'max' parameter must be greater than 0"); }
+        
+        maxSize = max;
+        getCache().trim();
+    }
+    
+    
+    /**************************************************************************
+     *                                                                        *
+     * Package Private API                                                    *
+     *                                                                        *
+     *************************************************************************/
+    
+    /**
+     * Gets the canonical {@code Fill} assembled from the specified
+     * sub-property values, assembling and caching it via {@code assembler} if
+     * the cache does not contain it yet.
+     * <p>
+     * The sub-property values are the converted values of the {@code -fill-*}
+     * sub-properties, i.e. {@code FillSpanHalf}, {@code FillSpanHalf[]} and
+     * {@code BorderFillSpanHalf[]} instances or {@code null}, always in the
+     * same order.
+     * <p>
+     * <b>Note:</b> if the cache was disabled via {@link #disableCache()} then
+     * this method simply returns the {@code Fill} created by
+     * {@code assembler}.
+     *
+     * @param subValues - the sub-property values the fill is assembled from
+     * @param assembler - assembles the fill on a cache miss
+     * @return a new {@code Fill}, or a previously cached {@code Fill}
+     */
+    static final Fill get(Object[] subValues, Supplier<Fill> assembler) {
+        if (isDisabled) { return assembler.get(); }
+        
+        final FillCache cache = getCache();
+        final Key key = new Key(subValues);
+        
+        final Fill cached = cache.get(key);
+        if (cached != null) { return cached; }
+        
+        // assemble outside of the lock, another thread may beat us to the put
+        return cache.putIfAbsent(key, assembler.get());
+    }
+    
+    
+    /**************************************************************************
+     *                                                                        *
+     * Cache API                                                              *
+     *                                                                        *
+     *************************************************************************/
+    
+    // lazy, thread safe instantiation
+    private static final class Holder {
+        static final FillCache INSTANCE = new FillCache();
+    }
+    
+    /**
+     * Gets the cache of {@link Fill} instances.
+     * @return the cache of {@code Fill} instances
+     */
+    private static final FillCache getCache() { return Holder.INSTANCE; }
+    
+    /** Access ordered, so the eldest entry is the least recently used. */
+    private final LinkedHashMap<Key, Fill> map;
+    
+    /** Creates cache, only one cache is created via Holder.INSTANCE */
+    private FillCache() {
+        map = new LinkedHashMap<Key, Fill>(64, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+            
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Fill> eldest) { return size() > maxSize; }
+        };
+    }
+    
+    private synchronized Fill get(Key key) { return map.get(key); }
+    
+    private synchronized Fill putIfAbsent(Key key, Fill fill) {
+        final Fill prev = map.putIfAbsent(key, fill);
+        
+        return (prev == null) ? fill : prev;
+    }
+    
+    private synchronized int size() { return map.size(); }
+    
+    private synchronized void clear() { map.clear(); }
+    
+    /** Evicts least recently used fills until the size bound is met. */
+    private synchronized void trim() {
+        final int max = maxSize;
+        
+        final Iterator<Fill> it = map.values().iterator();
+        while (map.size() > max && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+    
+    /** Sub-property values key, arrays are compared by their contents. */
+    private static final class Key {
+        private final Object[] values;
+        private final int hash;
+        
+        private Key(Object[] values) {
+            this.values = values;
+            hash = Arrays.deepHashCode(values);
+        }
+        
+        @Override
+        public int hashCode() { return hash; }
+        
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) { return true; }
+            if (!(obj instanceof Key)) { return false; }
+            
+            final Key that = (Key) obj;
+            return hash == that.hash && Arrays.deepEquals(values, that.values);
+        }
+    }
+    
+}
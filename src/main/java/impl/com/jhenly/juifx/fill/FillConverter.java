@@ -15,15 +15,21 @@
 package impl.com.jhenly.juifx.fill;
 
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 
 import impl.com.jhenly.juifx.fill.BorderFillSpan.BiBorderFillSpan;
 import impl.com.jhenly.juifx.fill.FillConverter.BorderFillSpanHalf.QuadBorderFillSpanHalf;
 import impl.com.jhenly.juifx.fill.FillConverter.BorderFillSpanHalf.UniBorderFillSpanHalf;
 import impl.com.jhenly.juifx.fill.FillSpan.BorderStrokePosition;
+import impl.com.jhenly.juifx.util.Tokenizer;
 import impl.com.jhenly.juifx.util.Utils;
 import javafx.css.CssMetaData;
 import javafx.css.ParsedValue;
@@ -72,6 +78,107 @@ public final class FillConverter extends StyleConverter<ParsedValue[], Fill> {
     public String toString() { return "FillConverter"; }
     
     
+    /**************************************************************************
+     *                                                                        *
+     * Parse Cache                                                            *
+     *                                                                        *
+     *************************************************************************/
+    
+    /** The maximum number of raw CSS values each converter memoizes. */
+    public static final int MAX_PARSE_CACHE_SIZE = 1024;
+    
+    /**
+     * Gets the number of times a {@code -fill-*} CSS value was converted
+     * without being re-parsed, summed over all of the fill converters.
+     * 
+     * @return the number of parse cache hits
+     */
+    public static long getParseCacheHitCount() {
+        return StringConverter.CACHE.hits.sum() + StringSequenceConverter.CACHE.hits.sum()
+               + BorderStringSequenceConverter.CACHE.hits.sum();
+    }
+    
+    /**
+     * Gets the number of times a {@code -fill-*} CSS value had to be parsed,
+     * summed over all of the fill converters.
+     * 
+     * @return the number of parse cache misses
+     */
+    public static long getParseCacheMissCount() {
+        return StringConverter.CACHE.misses.sum() + StringSequenceConverter.CACHE.misses.sum()
+               + BorderStringSequenceConverter.CACHE.misses.sum();
+    }
+    
+    /**
+     * Gets the ratio of parse cache hits to conversions of {@code -fill-*}
+     * CSS values.
+     * 
+     * @return the parse cache hit rate, between {@code 0.0} and {@code 1.0}
+     */
+    public static double getParseCacheHitRate() {
+        final long hits = getParseCacheHitCount(), total = hits + getParseCacheMissCount();
+        
+        return (total == 0L) ? 0.0 : (double) hits / total;
+    }
+    
+    /**
+     * Clears the memoized results of parsing {@code -fill-*} CSS values and
+     * resets the parse cache counters.
+     */
+    public static void clearParseCaches() {
+        StringConverter.CACHE.clear();
+        StringSequenceConverter.CACHE.clear();
+        BorderStringSequenceConverter.CACHE.clear();
+    }
+    
+    /**
+     * Bounded, concurrent memo of raw CSS value strings to their immutable
+     * parse results.
+     * <p>
+     * Parsed arrays are shared by every conversion of the same value, so
+     * they must never be modified.
+     */
+    private static final class ParseCache<V> {
+        private final ConcurrentHashMap<String, V> map = new ConcurrentHashMap<>();
+        private final LongAdder hits = new LongAdder(), misses = new LongAdder();
+        
+        /**
+         * Gets the parse result of the specified raw value, parsing it via
+         * {@code parser} on a miss. {@code null} results are not cached.
+         */
+        V get(String raw, Function<String, V> parser) {
+            V ret = map.get(raw);
+            if (ret != null) {
+                hits.increment();
+                return ret;
+            }
+            
+            misses.increment();
+            
+            ret = parser.apply(raw);
+            if (ret == null) { return null; }
+            
+            // a full cache evicts an arbitrary value, the bound only has to hold
+            if (map.size() >= MAX_PARSE_CACHE_SIZE) {
+                final Iterator<String> it = map.keySet().iterator();
+                if (it.hasNext()) {
+                    it.next();
+                    it.remove();
+                }
+            }
+            
+            final V prev = map.putIfAbsent(raw, ret);
+            return (prev == null) ? ret : prev;
+        }
+        
+        void clear() {
+            map.clear();
+            hits.reset();
+            misses.reset();
+        }
+    }
+    
+    
     /**************************************************************************
      *                                                                        *
      * Fill Color Converter                                                   *
@@ -103,18 +210,23 @@ public final class FillConverter extends StyleConverter<ParsedValue[], Fill> {
             Object val = value.getValue();
             if (val == null) { return null; }
             if (val instanceof Color) { return new FillSpanHalf((Color) val); }
-            if (val instanceof String) {
-                
-                String str = ((String) val).strip().toLowerCase(Locale.ENGLISH);
-                if (str.isBlank() || "null".equals(str)) { return null; }
-                
-                return parseStringFast(str);
-            }
+            if (val instanceof String) { return CACHE.get((String) val, StringConverter::parseRaw); }
             
             outErr("could not parse object", val.toString());
             return getErrorHalf();
         }
         
+        // memoizes parsed fill strings, keyed on the raw CSS value
+        private static final ParseCache<FillSpanHalf> CACHE = new ParseCache<>();
+        
+        /** Parses a raw CSS value, {@code null} if it's blank or "null". */
+        private static FillSpanHalf parseRaw(String raw) {
+            String str = raw.strip().toLowerCase(Locale.ENGLISH);
+            if (str.isBlank() || "null".equals(str)) { return null; }
+            
+            return parseStringFast(str);
+        }
+        
         /**
          * Parses a specified fill string into a {@link FillSpanHalf} object.
          * @param value - the fill string to parse
@@ -139,9 +251,10 @@ public final class FillConverter extends StyleConverter<ParsedValue[], Fill> {
         /** Actual parseString implementation. */
         private static FillSpanHalf parseStringFast(String val) {
             // background can have '[index]' and border can have '[index:pos]'
-            final String[] vals = Utils.splitAndStrip(val, '[');
+            final int bracket = val.indexOf('[');
+            final String name = (bracket == -1) ? val : val.substring(0, bracket).strip();
             
-            switch (vals[0]) {
+            switch (name) {
                 // check if val is a special identifier
                 case "text":
                 case "txt":
@@ -152,11 +265,12 @@ public final class FillConverter extends StyleConverter<ParsedValue[], Fill> {
                     return FillSpanHalf.getStrokeInstance();
                 case "bg":
                 case "background":
-                    return (vals.length == 1) ? FillSpanHalf.getBgInstance() : parseBgIndex(vals[1]);
+                    return (bracket == -1) ? FillSpanHalf.getBgInstance() : parseBgIndex(bracketContents(val, bracket));
                 case "bs": // bs, i.e. border stroke
                 case "bd":
                 case "border":
-                    return (vals.length == 1) ? FillSpanHalf.getBorderInstance() : parseBorderString(vals[1]);
+                    return (bracket == -1) ? FillSpanHalf.getBorderInstance()
+                        : parseBorderString(bracketContents(val, bracket));
                 
                 // val is not a special identifier, so try to get paint
                 default:
@@ -219,28 +333,37 @@ public final class FillConverter extends StyleConverter<ParsedValue[], Fill> {
             return (idx != -1) ? new FillSpanHalf(FillSpan.USE_BG, idx) : FillSpanHalf.getBgInstance();
         }
         
+        /**
+         * Gets the contents of the brackets opened at a specified index, i.e.
+         * {@code "t:3"} from {@code "border[t:3]"}.
+         */
+        static String bracketContents(String val, int open) {
+            final int close = val.lastIndexOf(']');
+            
+            return val.substring(open + 1, (close > open) ? close : val.length()).strip();
+        }
+        
+        /**
+         * Parses the contents of a border's brackets, i.e. {@code "t:3"}.
+         * <p>
+         * The returned half's index and border stroke position are the
+         * parsed ones, {@code -1} and {@code null} if they were not given.
+         */
         private static FillSpanHalf parseBorderString(String index) {
-            String[] pos = Utils.splitAndStrip(index, ':');
+            final Tokenizer pos = new Tokenizer(index, ':');
             int idx = -1;
             BorderStrokePosition bsPos = null;
             
-            // check if we were given a border stroke index or position
-            if (isIndexString(pos[0])) {
-                // border stroke index was given
-                idx = parseBorderIndex(pos[0]);
-            } else {
-                // border stroke position was given
-                bsPos = parseBsPos(pos[0]);
-            }
-            
-            // check if both border stroke index and position were given
-            if (pos.length > 1) {
-                // border stroke index was given second
-                if (isIndexString(pos[1])) {
-                    idx = parseBorderIndex(pos[1]);
+            // a border stroke index and/or position can be given, in either order
+            for (int i = 0; i < 2 && pos.next(); i++) {
+                final String part = pos.token();
+                
+                if (isIndexString(part)) {
+                    // border stroke index was given
+                    idx = parseBorderIndex(part);
                 } else {
-                    // border stroke position was given second
-                    bsPos = parseBsPos(pos[1]);
+                    // border stroke position was given
+                    bsPos = parseBsPos(part);
                 }
             }
             
@@ -350,26 +473,32 @@ public final class FillConverter extends StyleConverter<ParsedValue[], Fill> {
             if (val instanceof Paint) { return new FillSpanHalf[] { new FillSpanHalf((Paint) val) }; }
             
             // if we get a string of paint(s), then parse and return them
-            if (val instanceof String) {
-                
-                final String cleanValue = ((String) val).strip().toLowerCase(Locale.ENGLISH);
-                if (cleanValue.isBlank() || "null".equals(val)) { return null; }
-                
-                final String[] strColors = Utils.splitWithParentheses(cleanValue, ',', true);
-                if (strColors.length == 0) { return null; }
-                
-                return parseSequence(strColors);
-            }
+            if (val instanceof String) { return CACHE.get((String) val, StringSequenceConverter::parseRaw); }
             
             outErr("unable to parse fill string sequence");
             return null;
         }
         
-        /** Parses array of strings to an array of span halves. */
-        private static FillSpanHalf[] parseSequence(String[] seq) {
-            FillSpanHalf[] ret = new FillSpanHalf[seq.length];
-            for (int i = 0, n = seq.length; i < n; i++) {
-                ret[i] = StringConverter.parseString(seq[i]);
+        // memoizes parsed fill sequences, keyed on the raw CSS value
+        private static final ParseCache<FillSpanHalf[]> CACHE = new ParseCache<>();
+        
+        /** Parses a raw CSS value, {@code null} if it's blank or "null". */
+        private static FillSpanHalf[] parseRaw(String raw) {
+            final String cleanValue = raw.strip().toLowerCase(Locale.ENGLISH);
+            if (cleanValue.isBlank() || "null".equals(raw)) { return null; }
+            
+            return parseSequence(cleanValue);
+        }
+        
+        /** Parses a comma separated sequence to an array of span halves. */
+        private static FillSpanHalf[] parseSequence(String seq) {
+            final int count = Tokenizer.count(seq, ',');
+            if (count == 0) { return null; }
+            
+            final FillSpanHalf[] ret = new FillSpanHalf[count];
+            final Tokenizer tokens = new Tokenizer(seq, ',');
+            for (int i = 0; tokens.next(); i++) {
+                ret[i] = StringConverter.parseString(tokens.token());
             }
             return ret;
         }
@@ -418,78 +547,73 @@ public final class FillConverter extends StyleConverter<ParsedValue[], Fill> {
             }
             
             // if we get a string of color(s), then parse and return them
-            if (val instanceof String) {
-                
-                final String cleanValue = ((String) val).strip().toLowerCase(Locale.ENGLISH);
-                if (cleanValue.isBlank() || "null".equals(val)) { return null; }
-                
-                final String[] strBorder = Utils.splitWithParentheses(cleanValue, ',', false);
-                if (strBorder.length == 0) { return null; }
-                
-                return parseBorderSequence(strBorder);
-            }
+            if (val instanceof String) { return CACHE.get((String) val, BorderStringSequenceConverter::parseRaw); }
             
             outErr("unable to parse border fill string sequence");
             return null;
         }
         
-        /** Parses array of strings to an array of span halves. */
-        private static BorderFillSpanHalf[] parseBorderSequence(String[] seq) {
-            BorderFillSpanHalf[] ret = new BorderFillSpanHalf[seq.length];
+        // memoizes parsed border fill sequences, keyed on the raw CSS value
+        private static final ParseCache<BorderFillSpanHalf[]> CACHE = new ParseCache<>();
+        
+        /** Parses a raw CSS value, {@code null} if it's blank or "null". */
+        private static BorderFillSpanHalf[] parseRaw(String raw) {
+            final String cleanValue = raw.strip().toLowerCase(Locale.ENGLISH);
+            if (cleanValue.isBlank() || "null".equals(raw)) { return null; }
+            
+            return parseBorderSequence(cleanValue);
+        }
+        
+        /** Parses a comma separated sequence to an array of span halves. */
+        private static BorderFillSpanHalf[] parseBorderSequence(String seq) {
+            final int count = Tokenizer.count(seq, ',');
+            if (count == 0) { return null; }
             
-            for (int i = 0, n = seq.length; i < n; i++) {
-                final String[] borderStrings = Utils.splitWithBracketsAndParentheses(seq[i], ' ', true);
-                
-                ret[i] = parseBorderStrings(borderStrings);
+            final BorderFillSpanHalf[] ret = new BorderFillSpanHalf[count];
+            final Tokenizer borders = new Tokenizer(seq, ',');
+            for (int i = 0; borders.next(); i++) {
+                ret[i] = parseBorderStrings(seq, borders.start(), borders.end());
             }
             return ret;
         }
         
-        private static BorderFillSpanHalf parseBorderStrings(String[] borderStrings) {
+        /** Parses the space separated sides of one border in a sequence. */
+        private static BorderFillSpanHalf parseBorderStrings(String seq, int from, int to) {
+            final int count = Tokenizer.count(seq, from, to, ' ');
+            final Tokenizer sides = new Tokenizer(seq, from, to, ' ');
             
             // account for just getting a single 'border'
-            if (borderStrings.length == 1) {
-                final String[] seq = borderStrings[0].split("\\[");
-                switch (seq[0]) {
+            if (count == 1) {
+                sides.next();
+                final String single = sides.token();
+                final int bracket = single.indexOf('[');
+                
+                switch ((bracket == -1) ? single : single.substring(0, bracket).strip()) {
                     case "bs":
                     case "bd":
                     case "border":
-                        if (seq.length == 1) { return QuadBorderFillSpanHalf.getBorderInstance(); }
-                        return parseSingleSequence(seq);
+                        if (bracket == -1) { return QuadBorderFillSpanHalf.getBorderInstance(); }
+                        return parseSingleSequence(StringConverter.bracketContents(single, bracket));
                     default:
                         // not a border string, just a regular fill span half
-                        return new UniBorderFillSpanHalf(StringConverter.parseStringFast(seq[0]));
+                        return new UniBorderFillSpanHalf(StringConverter.parseStringFast(single));
                 }
             }
             
-            // we got multiple entries
-            final FillSpanHalf[] borderHalves = new FillSpanHalf[borderStrings.length];
+            // we got multiple entries, only the first four are used
+            final FillSpanHalf[] borderHalves = new FillSpanHalf[Math.min(count, 4)];
             
-            for (int i = 0; i < borderStrings.length && i < 4; i++) {
-                borderHalves[i] = parseSingle(i, borderStrings[i]);
+            for (int i = 0; i < borderHalves.length && sides.next(); i++) {
+                borderHalves[i] = parseSingle(i, sides.token());
             }
             
             return BorderFillSpanHalf.of(borderHalves);
         }
         
-        private static BorderFillSpanHalf parseSingleSequence(String[] seq) {
-            final String[] idxAndPos = Utils.stripTrailingBracket(seq[1]).split(":");
-            int idx = -1;
-            BorderStrokePosition bsPos = null;
-            
-            if (StringConverter.isIndexString(idxAndPos[0])) {
-                idx = StringConverter.parseBorderIndex(idxAndPos[0]);
-            } else {
-                bsPos = StringConverter.parseBsPos(idxAndPos[0]);
-            }
-            
-            if (idxAndPos.length > 1) {
-                if (StringConverter.isIndexString(idxAndPos[1])) {
-                    idx = StringConverter.parseBorderIndex(idxAndPos[1]);
-                } else {
-                    bsPos = StringConverter.parseBsPos(idxAndPos[1]);
-                }
-            }
+        private static BorderFillSpanHalf parseSingleSequence(String idxAndPos) {
+            final FillSpanHalf parsed = StringConverter.parseBorderString(idxAndPos);
+            final int idx = parsed.index;
+            final BorderStrokePosition bsPos = parsed.bsPos;
             
             if (idx == -1 && bsPos == null) {
                 // account for 'bs' in '-fill-border: "bs, bs[1], bs, bs[r];"'
@@ -515,14 +639,14 @@ public final class FillConverter extends StyleConverter<ParsedValue[], Fill> {
         
         private static FillSpanHalf parseSingle(int i, String single) {
             
-            final String[] splitSingle = single.split("\\[");
-            switch (splitSingle[0]) {
+            final int bracket = single.indexOf('[');
+            switch ((bracket == -1) ? single : single.substring(0, bracket).strip()) {
                 // check if it's a border string
                 case "bs":
                 case "bd":
                 case "border":
                     // border string, check if it has any brackets
-                    if (splitSingle.length == 1) {
+                    if (bracket == -1) {
                         switch (i) {
                             case 3:
                                 return BorderFillSpanHalf.getLeftBorderInstance();
@@ -537,7 +661,7 @@ public final class FillConverter extends StyleConverter<ParsedValue[], Fill> {
                     }
                     
                     // border string with brackets, parse it
-                    return parseFillSpanHalf(i, splitSingle);
+                    return parseFillSpanHalf(i, StringConverter.bracketContents(single, bracket));
                 
                 default:
                     // not a border string, just a regular fill span half
@@ -547,24 +671,10 @@ public final class FillConverter extends StyleConverter<ParsedValue[], Fill> {
             
         }
         
-        private static FillSpanHalf parseFillSpanHalf(int i, String[] seq) {
-            final String[] idxAndPos = Utils.stripTrailingBracket(seq[1]).split(":");
-            int idx = -1;
-            BorderStrokePosition bsPos = null;
-            
-            if (StringConverter.isIndexString(idxAndPos[0])) {
-                idx = StringConverter.parseBorderIndex(idxAndPos[0]);
-            } else {
-                bsPos = StringConverter.parseBsPos(idxAndPos[0]);
-            }
-            
-            if (idxAndPos.length > 1) {
-                if (StringConverter.isIndexString(idxAndPos[1])) {
-                    idx = StringConverter.parseBorderIndex(idxAndPos[1]);
-                } else {
-                    bsPos = StringConverter.parseBsPos(idxAndPos[1]);
-                }
-            }
+        private static FillSpanHalf parseFillSpanHalf(int i, String idxAndPos) {
+            final FillSpanHalf parsed = StringConverter.parseBorderString(idxAndPos);
+            final int idx = parsed.index;
+            final BorderStrokePosition bsPos = parsed.bsPos;
             
             if (idx == -1 && bsPos == null) {
                 // account for 'bs' in '-fill-border: "bs bs[2] bs[t] bs;"'
@@ -643,12 +753,14 @@ public final class FillConverter extends StyleConverter<ParsedValue[], Fill> {
          *         
          * @since JuiFX 1.0
          * @apiNote {@code Fill} assembly is done through a {@code static}
-         *          method because future versions of JuiFX might cache
-         *          {@code Fill} instances with a specified {@code Set} of
-         *          converted value entries, if it proves beneficial.
+         *          method so that assembled {@code Fill} instances can be
+         *          interned by {@link FillCache}, keyed on the converted
+         *          values of the ten {@code -fill-*} sub-properties.
          */
         static Fill assemble(Set<Entry<CssMetaData<? extends Styleable, ?>, Object>> cvEntries) {
-            return (new FillAssembler(cvEntries)).assemble();
+            final FillAssembler assembler = new FillAssembler(cvEntries);
+            
+            return FillCache.get(assembler.subValues(), assembler::assemble);
         }
         
         
@@ -662,10 +774,11 @@ public final class FillConverter extends StyleConverter<ParsedValue[], Fill> {
         
         private FillAssembler(Set<Entry<CssMetaData<? extends Styleable, ?>, Object>> cvEntries) {
             setMembersFromEntries(cvEntries);
-            
-            checkFromAndTo();
-            
-            assembleFillSpans();
+        }
+        
+        /** Gets the converted sub-property values, before any are defaulted. */
+        private Object[] subValues() {
+            return new Object[] { fText, tText, fShape, tShape, fStroke, tStroke, fBgs, tBgs, fBds, tBds };
         }
         
         /**
@@ -814,6 +927,10 @@ public final class FillConverter extends StyleConverter<ParsedValue[], Fill> {
         }
         
         private Fill assemble() {
+            checkFromAndTo();
+            
+            assembleFillSpans();
+            
             final Fill ret = new Fill(text, shape, stroke, bgs, bds);
             dispose();
             return ret;
@@ -862,6 +979,27 @@ public final class FillConverter extends StyleConverter<ParsedValue[], Fill> {
             isComplex = s;
         }
         
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            int hash = 7;
+            hash = 31 * hash + ((paint == null) ? 0 : paint.hashCode());
+            hash = 31 * hash + index;
+            hash = 31 * hash + ((bsPos == null) ? 0 : bsPos.ordinal() + 1);
+            return 31 * hash + (isComplex ? 1 : 0);
+        }
+        
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) { return true; }
+            if (!(obj instanceof FillSpanHalf)) { return false; }
+            
+            final FillSpanHalf that = (FillSpanHalf) obj;
+            return isComplex == that.isComplex && index == that.index && bsPos == that.bsPos
+                   && Objects.equals(paint, that.paint);
+        }
+        
         /**
          * Combines this <i>fill-from</i> {@code FillSpanHalf} with its
          * <i>fill-to</i> counterpart to make a whole {@code FillSpan}
@@ -1030,6 +1168,27 @@ public final class FillConverter extends StyleConverter<ParsedValue[], Fill> {
         protected abstract BorderFillSpan makeWholeWithFrom(QuadBorderFillSpanHalf from);
         protected abstract BorderFillSpan makeWholeWithTo(QuadBorderFillSpanHalf to);
         
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            int hash = getClass().hashCode();
+            hash = 31 * hash + top().hashCode();
+            hash = 31 * hash + right().hashCode();
+            hash = 31 * hash + bottom().hashCode();
+            return 31 * hash + left().hashCode();
+        }
+        
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) { return true; }
+            if (obj == null || obj.getClass() != getClass()) { return false; }
+            
+            final BorderFillSpanHalf that = (BorderFillSpanHalf) obj;
+            return top().equals(that.top()) && right().equals(that.right()) && bottom().equals(that.bottom())
+                   && left().equals(that.left());
+        }
+        
         
         static final BorderFillSpanHalf of(FillSpanHalf... halves) {
             if (halves == null || halves.length == 0) { return UniBorderFillSpanHalf.getBorderInstance(); }
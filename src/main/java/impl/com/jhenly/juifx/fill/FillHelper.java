@@ -63,6 +63,10 @@ public class FillHelper {
         return fillAccessor.replaceSpecialsInFill(fill, fable);
     }
     
+    public static Fill replaceSpecialsInFill(Fill fill, ReplaceContext ctx) {
+        return fillAccessor.replaceSpecialsInFill(fill, ctx);
+    }
+    
     /**************************************************************************
      *                                                                        *
      * Fill Accessor                                                          *
@@ -87,6 +91,7 @@ public class FillHelper {
         
         boolean fillHasSpecial(Fill fill);
         Fill replaceSpecialsInFill(Fill fill, Fillable fable);
+        Fill replaceSpecialsInFill(Fill fill, ReplaceContext ctx);
         
     }
     
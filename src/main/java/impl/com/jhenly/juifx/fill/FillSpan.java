@@ -169,6 +169,13 @@ public class FillSpan implements Interpolatable<Paint> {
     private final boolean fromEqualsTo;
     // pre-compute hash
     protected int hash;
+    // set while this instance is the canonical instance in FillSpanCache
+    volatile boolean cached;
+    // lazily filled table of interpolated paints, see setFrameTableResolution
+    private volatile Paint[] frameTable;
+    
+    // estimated size of a fill span's fields, see estimateSize()
+    static final int SHALLOW_SIZE = 32;
     
     
     /**************************************************************************
@@ -205,11 +212,7 @@ public class FillSpan implements Interpolatable<Paint> {
             this.to = to;
         }
         
-        // hash calculation is:
-        // hash = 7;
-        // hash = 31 * hash + from.hashCode();
-        // hash = 31 * hash + to.hashCode();
-        hash = 31 * (31 * 7 + this.from.hashCode()) + this.to.hashCode();
+        hash = hashOf(this.from, this.to);
     }
     
     /**
@@ -226,12 +229,26 @@ public class FillSpan implements Interpolatable<Paint> {
         fromEqualsTo = true;
         from = to = same;
         
+        hash = hashOf(same, same);
+    }
+    
+    /**
+     * Computes the hash of a {@code FillSpan} with the specified fill-from
+     * and fill-to, subclasses add their own attributes to this hash.
+     * <p>
+     * This lets {@link FillSpanCache} compute the hash of a fill span from
+     * its inputs without creating the fill span.
+     * 
+     * @param from - the non-{@code null} fill-from paint
+     * @param to - the non-{@code null} fill-to paint
+     * @return the hash of a fill span with the specified paints
+     */
+    static int hashOf(Paint from, Paint to) {
         // hash calculation is:
         // hash = 7;
         // hash = 31 * hash + from.hashCode();
-        // hash = 31 * hash + from.hashCode();
-        final int fromHash = from.hashCode();
-        hash = 31 * (31 * 7 + fromHash) + fromHash;
+        // hash = 31 * hash + to.hashCode();
+        return 31 * (31 * 7 + from.hashCode()) + to.hashCode();
     }
     
     
@@ -297,6 +314,9 @@ public class FillSpan implements Interpolatable<Paint> {
      * <tr><td>{@code 0.0 < frac < 1.0}</td><td>{@code from().interpolate(to(), frac)}</td></tr>
      * <tr><td>{@code frac >= 1.0}</td><td>{@code to()}</td></tr>
      * </table>
+     * <p>
+     * If frame tables are enabled, {@code frac} is first quantized to the
+     * nearest frame table step, see {@link #setFrameTableResolution(int)}.
      * 
      * @param frac - fraction between {@code 0.0} and {@code 1.0}
      * @return the interpolated {@code Paint} between {@code this.from()} and
@@ -310,9 +330,38 @@ public class FillSpan implements Interpolatable<Paint> {
         if (fromEqualsTo || frac <= 0.0) { return from; }
         if (frac >= 1.0) { return to; }
         
+        final int res = frameTableResolution;
+        if (res != FRAME_TABLES_DISABLED) { return interpolateFromTable(frac, res); }
+        
         return interpolateImpl(frac);
     }
     
+    /**
+     * Gets the interpolated paint at the frame table step nearest to
+     * {@code frac}, interpolating and storing it on first use.
+     * <p>
+     * Table slots are filled lazily and hold immutable paints, so racing
+     * threads can at worst interpolate the same step twice.
+     * 
+     * @param frac - fraction between {@code 0.0} and {@code 1.0}, exclusive
+     * @param res - the current frame table resolution
+     * @return the interpolated {@code Paint} at the nearest table step
+     */
+    private Paint interpolateFromTable(double frac, int res) {
+        final int step = (int) Math.round(frac * res);
+        if (step == 0) { return from; }
+        if (step == res) { return to; }
+        
+        Paint[] table = frameTable;
+        // (re)create the table on first use or after a resolution change
+        if (table == null || table.length != res) { frameTable = table = new Paint[res]; }
+        
+        Paint p = table[step];
+        if (p == null) { table[step] = p = interpolateImpl((double) step / res); }
+        
+        return p;
+    }
+    
     /**
      * Invoked by {@link #interpolate(double)} after checking
      * {@code fromEqualsTo} and {@code frac}, subclasses should override this
@@ -379,12 +428,96 @@ public class FillSpan implements Interpolatable<Paint> {
      */
     boolean isSpecial() { return false; }
     
+    /**
+     * Gets the attributes, other than fill-from and fill-to, that distinguish
+     * this fill span from other fill spans in {@link FillSpanCache}.
+     * 
+     * @return this fill span's key attributes, {@code 0} by default
+     */
+    int keyAttributes() { return 0; }
+    
+    /**
+     * Gets the kind of this fill span, used by {@link FillSpanCache} to break
+     * down its statistics.
+     * 
+     * @return this fill span's kind, {@code PLAIN} by default
+     */
+    FillSpanCache.SpanKind cacheKind() { return FillSpanCache.SpanKind.PLAIN; }
+    
+    /**
+     * Gets the estimated size, in bytes, of this fill span and any data it
+     * precomputes, not including its paints or lazily created caches.
+     * 
+     * @return this fill span's estimated size in bytes
+     */
+    int estimateSize() { return SHALLOW_SIZE; }
+    
+    /**
+     * Gets whether this fill span is the one {@link FillSpanCache} would
+     * create from the specified inputs.
+     * 
+     * @param f - the fill-from paint
+     * @param t - the fill-to paint
+     * @param atts - the key attributes
+     * @return {@code true} if this fill span matches the specified inputs,
+     *         otherwise {@code false}
+     * @see #keyAttributes()
+     */
+    final boolean matches(Paint f, Paint t, int atts) {
+        return keyAttributes() == atts && from.equals(f) && to.equals(t);
+    }
+    
     /**************************************************************************
      *                                                                        *
      * Public Static API                                                      *
      *                                                                        *
      *************************************************************************/
     
+    /** The frame table resolution used to disable frame tables. */
+    public static final int FRAME_TABLES_DISABLED = 0;
+    /** The largest supported frame table resolution. */
+    public static final int MAX_FRAME_TABLE_RESOLUTION = 4096;
+    // current frame table resolution
+    private static volatile int frameTableResolution = FRAME_TABLES_DISABLED;
+    
+    /**
+     * Gets the number of steps fill span frame tables are quantized to, or
+     * {@link #FRAME_TABLES_DISABLED} if frame tables are disabled.
+     * 
+     * @return the current frame table resolution
+     * @see #setFrameTableResolution(int)
+     */
+    public static int getFrameTableResolution() { return frameTableResolution; }
+    
+    /**
+     * Sets the number of steps fill span frame tables are quantized to.
+     * <p>
+     * Frame tables are disabled by default. When enabled, each fill span
+     * quantizes the fraction passed to {@link #interpolate(double)} to the
+     * nearest of {@code resolution} steps and remembers the paint it
+     * interpolated for each step, so replaying a transition becomes a single
+     * array lookup per frame. Tables are created on a fill span's first
+     * interpolation and, since fill spans are cached, are shared by every
+     * control using the same fill span.
+     * <p>
+     * A resolution of {@code 64} is plenty for short transitions, {@code 256}
+     * steps is indistinguishable from unquantized interpolation for 8-bit
+     * color channels. Changing the resolution rebuilds tables as they are
+     * next used.
+     * 
+     * @param resolution - the number of frame table steps, or
+     *        {@link #FRAME_TABLES_DISABLED} to disable frame tables
+     * @throws IllegalArgumentException if {@code resolution} is negative,
+     *         {@code 1} or greater than {@link #MAX_FRAME_TABLE_RESOLUTION}
+     */
+    public static void setFrameTableResolution(int resolution) {
+        if (resolution < 0 || resolution == 1 || resolution > MAX_FRAME_TABLE_RESOLUTION) {
+            throw new IllegalArgumentException("invalid frame table resolution: " + resolution);
+        }
+        
+        frameTableResolution = resolution;
+    }
+    
     /**
      * Gets a {@link FillSpan} with the specified fill-from and fill-to
      * {@link Paint} instances.
@@ -723,6 +856,15 @@ public class FillSpan implements Interpolatable<Paint> {
      *                                                                        *
      *************************************************************************/
     
+    // cache miss factories, non-capturing so lookups don't allocate
+    private static final FillSpanCache.SpanFactory FACTORY = (f, t, atts) -> {
+        // color to color spans get the primitive interpolation path
+        if (f instanceof Color && t instanceof Color) { return new ColorFillSpan((Color) f, (Color) t); }
+        
+        return new FillSpan(f, t);
+    };
+    private static final FillSpanCache.SpanFactory SAME_FACTORY = (f, t, atts) -> new FillSpan(f);
+    
     /**
      * Gets a {@code FillSpan} with the specified paints from the cache if
      * the cache contains it, otherwise a new {@code FillSpan} is created
@@ -735,7 +877,7 @@ public class FillSpan implements Interpolatable<Paint> {
      *         paints
      */
     static final FillSpan getFromCache(Paint from, Paint to) {
-        return FillSpanCache.get(new FillSpan(from, to));
+        return FillSpanCache.get(hashOf(from, to), from, to, 0, FACTORY);
     }
     
     /**
@@ -749,16 +891,25 @@ public class FillSpan implements Interpolatable<Paint> {
      *         a previously cached {@code FillSpan} with the specified
      *         paint
      */
-    static final FillSpan getFromCache(Paint same) { return FillSpanCache.get(new FillSpan(same)); }
+    static final FillSpan getFromCache(Paint same) {
+        return FillSpanCache.get(hashOf(same, same), same, same, 0, SAME_FACTORY);
+    }
     
     /**
      * Used by implementations of {@code FillSpan} to get a cached
-     * {@code FillSpan}.
+     * {@code FillSpan} from its inputs.
      * 
-     * @param span - the fill span to get
+     * @param hash - the hash of the fill span to get
+     * @param from - the fill-from paint
+     * @param to - the fill-to paint
+     * @param atts - the key attributes of the fill span to get
+     * @param factory - creates the fill span if it isn't cached
      * @return a cached {@code FillSpan} instance
      */
-    @SuppressWarnings("unchecked")
-    static final <T extends FillSpan> T getFromCache(T span) { return (T) FillSpanCache.get(span); }
+    static final FillSpan
+    getFromCache(int hash, Paint from, Paint to, int atts, FillSpanCache.SpanFactory factory)
+    {
+        return FillSpanCache.get(hash, from, to, atts, factory);
+    }
     
 }
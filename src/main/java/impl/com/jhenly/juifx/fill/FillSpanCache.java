@@ -1,13 +1,17 @@
 package impl.com.jhenly.juifx.fill;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+
+import javafx.scene.paint.Paint;
 
 
 /**
  * Class for caching {@code FillSpan} instances.
  * <p>
- * This class keeps a static cache of {@link FillSpan} instances to
+ * This class keeps a static, bounded cache of {@link FillSpan} instances to
  * improve performance. The cache is enabled by default . The size of the cache
  * can be queried via {@link #getCacheSize()}. If for some reason the cache is
  * found to be hurting performance, then the cache can be disabled via
@@ -15,14 +19,105 @@ import java.util.Map;
  * enabled state of the cache can be queried via {@link #isCacheEnabled()}. If
  * the cache is disabled it can be re-enabled via {@link #enableCache()}.
  * <p>
+ * The cache holds at most {@link #getMaxCacheSize()} fill spans, once that
+ * bound is reached fill spans are evicted according to the cache's
+ * {@link EvictionPolicy}, which can be changed via
+ * {@link #setEvictionPolicy(EvictionPolicy)}. The cache is split into
+ * independently locked segments, so it is safe to create fill spans from any
+ * thread.
+ * <p>
+ * By default the cache holds its fill spans strongly. Applications that
+ * create many fill spans which are used once, e.g. colors computed from live
+ * data, can have the cache hold its fill spans weakly or softly via
+ * {@link #setReferenceMode(ReferenceMode)}, so fill spans that are no longer
+ * referenced by a live {@code Fill} are reclaimed by the garbage collector.
+ * <p>
+ * Hit, miss, insert and eviction counts, broken down by {@link SpanKind},
+ * along with an estimate of the memory retained by the cache, can be polled
+ * via {@link #getStats()}.
+ * <p>
  * If it is known that no instances of {@code FillSpan} are in use and no more
  * will be needed, then clearing the cache would be beneficial.
- * 
+ *
  * @author Jonathan Henly
  * @since JuiFX 1.0
  */
 public final class FillSpanCache {
     
+    /**
+     * The policies used to choose which {@link FillSpan} instance to evict
+     * when the cache is full.
+     */
+    public enum EvictionPolicy {
+        /** Evicts the least recently used fill span. */
+        LRU,
+        /** Evicts the least frequently used fill span. */
+        LFU,
+        /** Never evicts, the maximum cache size is ignored. */
+        NONE;
+    }
+    
+    /**
+     * The kinds of {@link FillSpan} instances held by the cache, used to
+     * break down the cache's {@link Stats statistics}.
+     */
+    public enum SpanKind {
+        /** A fill span without a specialized interpolation path. */
+        PLAIN,
+        /** A color to color fill span. */
+        COLOR,
+        /** A fill span with one or more special identifiers. */
+        SPECIAL,
+        /** A color to linear gradient fill span. */
+        COLOR_TO_LINEAR,
+        /** A linear gradient to color fill span. */
+        LINEAR_TO_COLOR,
+        /** A color to radial gradient fill span. */
+        COLOR_TO_RADIAL,
+        /** A radial gradient to color fill span. */
+        RADIAL_TO_COLOR,
+        /** A linear to linear gradient fill span with equal stop counts. */
+        LINEAR_TO_LINEAR,
+        /** A linear to linear gradient fill span with differing stop counts. */
+        LINEAR_TO_LINEAR_DISJUNCT,
+        /** A radial to radial gradient fill span with equal stop counts. */
+        RADIAL_TO_RADIAL,
+        /** A radial to radial gradient fill span with differing stop counts. */
+        RADIAL_TO_RADIAL_DISJUNCT;
+        
+        // cached to avoid cloning in values()
+        private static final SpanKind[] VALUES = values();
+    }
+    
+    /**
+     * The ways in which the cache can hold on to its {@link FillSpan}
+     * instances.
+     */
+    public enum ReferenceMode {
+        /** Fill spans stay cached until they are evicted or cleared. */
+        STRONG,
+        /**
+         * Fill spans are softly reachable from the cache, so the garbage
+         * collector reclaims unused fill spans when memory runs low.
+         */
+        SOFT,
+        /**
+         * Fill spans are weakly reachable from the cache, so the garbage
+         * collector reclaims fill spans as soon as nothing else uses them.
+         */
+        WEAK;
+    }
+    
+    /** The default maximum number of cached fill spans. */
+    public static final int DEFAULT_MAX_CACHE_SIZE = 4096;
+    
+    /** The default eviction policy, {@link EvictionPolicy#LRU}. */
+    public static final EvictionPolicy DEFAULT_EVICTION_POLICY = EvictionPolicy.LRU;
+    
+    /** The default reference mode, {@link ReferenceMode#STRONG}. */
+    public static final ReferenceMode DEFAULT_REFERENCE_MODE = ReferenceMode.STRONG;
+    
+    
     /**************************************************************************
      *                                                                        *
      * Static Members                                                         *
@@ -30,7 +125,14 @@ public final class FillSpanCache {
      *************************************************************************/
     
     // used to indicate if the cache is enabled or not
-    private static boolean isDisabled = false;
+    private static volatile boolean isDisabled = false;
+    
+    // the cache's size bound and eviction policy
+    private static volatile int maxSize = DEFAULT_MAX_CACHE_SIZE;
+    private static volatile EvictionPolicy policy = DEFAULT_EVICTION_POLICY;
+    
+    // how the cache holds on to its fill spans
+    private static volatile ReferenceMode refMode = DEFAULT_REFERENCE_MODE;
     
     
     /**************************************************************************
@@ -41,7 +143,7 @@ public final class FillSpanCache {
     
     /**
      * Gets whether or not the cache of {@link FillSpan} instances is enabled.
-     * 
+     *
      * @return {@code true} if the cache of {@code FillSpan} instances is
      *         enabled, otherwise {@code false}
      */
@@ -52,7 +154,7 @@ public final class FillSpanCache {
      */
     public static final void enableCache() { isDisabled = false; }
     
-    /** 
+    /**
      * Disables the caching of {@link FillSpan} instances.
      */
     public static final void disableCache() { isDisabled = true; }
@@ -61,13 +163,107 @@ public final class FillSpanCache {
      * Gets the size of the cache of {@link FillSpan} instances.
      * @return the size of the cache of {@code FillSpan} instances
      */
-    public static int getCacheSize() { return getCache().cache.size(); }
+    public static int getCacheSize() { return getCache().size(); }
     
     /**
      * Clears the cache of {@link FillSpan} instances.
      */
     public static final void clearCache() { getCache().clear(); }
     
+    /**
+     * Gets the maximum number of {@link FillSpan} instances the cache will
+     * hold before evicting.
+     *
+     * @return the maximum size of the cache
+     */
+    public static int getMaxCacheSize() { return maxSize; }
+    
+    /**
+     * Sets the maximum number of {@link FillSpan} instances the cache will
+     * hold before evicting. If the cache currently holds more fill spans than
+     * the specified maximum, then fill spans are evicted immediately.
+     * <p>
+     * The maximum size is ignored while the eviction policy is
+     * {@link EvictionPolicy#NONE}.
+     *
+     * @param max - the maximum size of the cache, must be greater than
+     *        {@code 0}
+     * @throws IllegalArgumentException if {@code max} is less than {@code 1}
+     */
+    public static void setMaxCacheSize(int max) {
+        if (max < 1) { throw new IllegalArgumentException("the 'max' parameter must be greater than 0"); }
+        
+        maxSize = max;
+        getCache().trim();
+    }
+    
+    /**
+     * Gets the policy used to evict {@link FillSpan} instances when the cache
+     * is full.
+     *
+     * @return the cache's eviction policy
+     */
+    public static EvictionPolicy getEvictionPolicy() { return policy; }
+    
+    /**
+     * Sets the policy used to evict {@link FillSpan} instances when the cache
+     * is full.
+     *
+     * @param evictionPolicy - the eviction policy to use
+     * @throws IllegalArgumentException if {@code evictionPolicy} is
+     *         {@code null}
+     */
+    public static void setEvictionPolicy(EvictionPolicy evictionPolicy) {
+        if (evictionPolicy == null) {
+            throw new IllegalArgumentException("the 'evictionPolicy' parameter cannot be null");
+        }
+        
+        policy = evictionPolicy;
+        getCache().trim();
+    }
+    
+    
+    /**
+     * Gets how the cache holds on to its {@link FillSpan} instances.
+     *
+     * @return the cache's reference mode
+     */
+    public static ReferenceMode getReferenceMode() { return refMode; }
+    
+    /**
+     * Sets how the cache holds on to its {@link FillSpan} instances. Fill
+     * spans that are already cached are switched over to the specified mode.
+     * <p>
+     * Weakly or softly held fill spans are still evicted according to the
+     * {@link EvictionPolicy}, combine {@link ReferenceMode#WEAK} with
+     * {@link EvictionPolicy#NONE} to have the cache bounded only by the fill
+     * spans that are in use. A fill span stays canonical while it is
+     * reachable, so {@code FillSpan} instances obtained from the cache can
+     * still be compared by reference.
+     *
+     * @param mode - the reference mode to use
+     * @throws IllegalArgumentException if {@code mode} is {@code null}
+     */
+    public static void setReferenceMode(ReferenceMode mode) {
+        if (mode == null) { throw new IllegalArgumentException("the 'mode' parameter cannot be null"); }
+        
+        refMode = mode;
+        getCache().rehold(mode);
+    }
+    
+    /**
+     * Gets a snapshot of the cache's statistics.
+     * <p>
+     * Counters are accumulated from the moment the cache is first used and
+     * are not reset by {@link #clearCache()}, subtract an earlier snapshot to
+     * get the counts over an interval. Taking a snapshot briefly locks each
+     * of the cache's segments in turn and does not allocate anything but the
+     * snapshot, so it is cheap enough to poll from a monitoring thread.
+     *
+     * @return a snapshot of the cache's statistics
+     */
+    public static Stats getStats() { return getCache().stats(); }
+    
     
     /**************************************************************************
      *                                                                        *
@@ -76,21 +272,49 @@ public final class FillSpanCache {
      *************************************************************************/
     
     /**
-     * Gets a {@code FillSpan} from this cache if the cache contains it,
-     * otherwise adds the newly created {@code FillSpan} to the cache and
-     * returns it.
+     * Creates the {@link FillSpan} to add to the cache when a lookup misses.
+     * <p>
+     * Implementations should be non-capturing, i.e. static constants, so
+     * that passing one to {@link FillSpanCache#get(int, Paint, Paint, int,
+     * SpanFactory) get(...)} does not allocate.
+     */
+    @FunctionalInterface
+    interface SpanFactory {
+        /**
+         * Creates a fill span from the lookup's inputs.
+         * @param from - the fill-from paint
+         * @param to - the fill-to paint
+         * @param atts - the fill span's key attributes
+         * @return a new fill span
+         */
+        FillSpan create(Paint from, Paint to, int atts);
+    }
+    
+    /**
+     * Gets the {@code FillSpan} matching the specified inputs from this cache
+     * if the cache contains it, otherwise creates a {@code FillSpan} via the
+     * specified factory, adds it to the cache and returns it.
+     * <p>
+     * The lookup is keyed directly on the inputs, so no {@code FillSpan} is
+     * allocated on a cache hit. The specified hash must be the hash code of
+     * the fill span the factory creates, and a cached fill span matches if
+     * {@link FillSpan#matches(Paint, Paint, int)} returns {@code true}.
      * <p>
      * <b>Note:</b> if the cache was disabled via {@link #disableCache()} then
-     * this method simply returns the passed in {@code FillSpan} instance.
+     * this method simply returns a newly created {@code FillSpan} instance.
      * 
-     * @param span - the {@code FillSpan} to get from the cache
-     * @return a new {@code FillSpan}, or a previously cached 
+     * @param hash - the hash code of the fill span to get
+     * @param from - the fill-from paint
+     * @param to - the fill-to paint
+     * @param atts - the key attributes, see {@link FillSpan#keyAttributes()}
+     * @param factory - creates the fill span on a cache miss
+     * @return a new {@code FillSpan}, or a previously cached
      *         {@code FillSpan}
      */
-    static final FillSpan get(FillSpan span) {
-        if (isDisabled) { return span; }
+    static final FillSpan get(int hash, Paint from, Paint to, int atts, SpanFactory factory) {
+        if (isDisabled) { return factory.create(from, to, atts); }
         
-        return getCache().getOrPut(span);
+        return getCache().getOrPut(hash, from, to, atts, factory);
     }
     
     
@@ -105,34 +329,535 @@ public final class FillSpanCache {
         static final FillSpanCache INSTANCE = new FillSpanCache();
     }
     
-    /** 
+    /**
      * Gets the cache of {@link FillSpan} instances.
      * @return the cache of {@code FillSpan} instances
      */
     private static final FillSpanCache getCache() { return Holder.INSTANCE; }
     
-    /** The cache of {@link FillSpan} instances. */
-    private Map<FillSpan, FillSpan> cache;
+    // number of segments, must be a power of two
+    private static final int SEGMENT_COUNT = 16;
+    private static final int SEGMENT_SHIFT = 28;
+    
+    /** The independently locked segments of the cache. */
+    private final Segment[] segments;
     
     /** Creates cache, only one cache is created via Holder.INSTANCE */
     private FillSpanCache() {
-        cache = new HashMap<>();
+        segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment();
+        }
+    }
+    
+    /** Spreads the higher bits of a hash so segment selection is uniform. */
+    private static int spread(int h) { return (h ^ (h >>> 16)) * 0x9E3779B9; }
+    
+    /** Gets the segment responsible for a specified spread hash. */
+    private Segment segmentFor(int spreadHash) { return segments[(spreadHash >>> SEGMENT_SHIFT) & (SEGMENT_COUNT - 1)]; }
+    
+    /** Gets the maximum number of fill spans a single segment may hold. */
+    private static int segmentCapacity() {
+        if (policy == EvictionPolicy.NONE) { return Integer.MAX_VALUE; }
+        
+        return Math.max(1, (maxSize + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
     }
     
     /** All getOrPut* methods calls this method. */
-    private final FillSpan getOrPut(FillSpan span) {
-        FillSpan ret = cache.get(span);
-        if (ret == null) {
-            ret = span;
-            cache.put(ret, ret);
+    private final FillSpan getOrPut(int hash, Paint from, Paint to, int atts, SpanFactory factory) {
+        final int h = spread(hash);
+        
+        return segmentFor(h).getOrPut(h, from, to, atts, factory, segmentCapacity(), policy, refMode);
+    }
+    
+    /** Gets the number of cached fill spans. */
+    private final int size() {
+        int size = 0;
+        for (Segment seg : segments) {
+            size += seg.count;
         }
         
-        return ret;
+        return size;
+    }
+    
+    /** Evicts fill spans until every segment respects the size bound. */
+    private final void trim() {
+        final int cap = segmentCapacity();
+        final EvictionPolicy pol = policy;
+        
+        for (Segment seg : segments) {
+            seg.trim(cap, pol);
+        }
+    }
+    
+    /** Switches every cached fill span over to a reference mode. */
+    private final void rehold(ReferenceMode mode) {
+        for (Segment seg : segments) {
+            seg.rehold(mode);
+        }
     }
     
     /** Clears the {@code FillSpanCache}. */
     final void clear() {
-        if (cache != null) { cache.clear(); }
+        for (Segment seg : segments) {
+            seg.clear();
+        }
+    }
+    
+    /** Sums the statistics of every segment. */
+    private final Stats stats() {
+        final long[] counters = new long[KIND_COUNT * STAT_COUNT];
+        for (Segment seg : segments) {
+            seg.addStatsTo(counters);
+        }
+        
+        return new Stats(counters);
+    }
+    
+    
+    /**************************************************************************
+     *                                                                        *
+     * Segment Implementation                                                 *
+     *                                                                        *
+     *************************************************************************/
+    
+    /**
+     * A chained hash table of cached fill spans which also keeps its entries
+     * in a doubly linked list, ordered from least to most recently used.
+     */
+    private static final class Segment {
+        private static final int INITIAL_TABLE_SIZE = 16;
+        
+        private Entry[] table = new Entry[INITIAL_TABLE_SIZE];
+        private volatile int count;
+        
+        // per kind statistics, see 'stat(int, int)', guarded by this segment
+        private final long[] stats = new long[KIND_COUNT * STAT_COUNT];
+        
+        // sentinel of the access ordered list, 'head.after' is the eldest
+        private final Entry head = new Entry(0, null, null, ReferenceMode.STRONG, null);
+        
+        // weakly and softly held fill spans are enqueued here once reclaimed
+        private final ReferenceQueue<FillSpan> queue = new ReferenceQueue<>();
+        
+        Segment() { head.before = head.after = head; }
+        
+        synchronized FillSpan
+        getOrPut(int h, Paint from, Paint to, int atts, SpanFactory factory, int cap, EvictionPolicy pol,
+            ReferenceMode mode)
+        {
+            expunge();
+            
+            final Entry[] tab = table;
+            final int idx = h & (tab.length - 1);
+            
+            for (Entry e = tab[idx]; e != null; e = e.next) {
+                if (e.hash != h) { continue; }
+                
+                // null if reclaimed but not yet expunged
+                final FillSpan cached = e.span();
+                if (cached != null && cached.matches(from, to, atts)) {
+                    stats[stat(e.kind, HITS)] += 1;
+                    recordAccess(e, pol);
+                    return cached;
+                }
+            }
+            
+            // only allocate a fill span on a cache miss
+            final FillSpan span = factory.create(from, to, atts);
+            final Entry added = new Entry(h, span, tab[idx], mode, queue);
+            tab[idx] = added;
+            linkLast(added);
+            span.cached = true;
+            
+            final int kind = added.kind;
+            stats[stat(kind, MISSES)] += 1;
+            stats[stat(kind, INSERTS)] += 1;
+            stats[stat(kind, SIZE)] += 1;
+            stats[stat(kind, BYTES)] += added.bytes;
+            
+            if (++count > tab.length - (tab.length >>> 2)) { resize(); }
+            
+            trim(cap, pol);
+            
+            return span;
+        }
+        
+        /** Moves an entry to the most recently used position and counts the hit. */
+        private void recordAccess(Entry e, EvictionPolicy pol) {
+            if (pol == EvictionPolicy.NONE) { return; }
+            
+            if (e.hits < Integer.MAX_VALUE) { e.hits += 1; }
+            
+            if (head.before != e) {
+                unlink(e);
+                linkLast(e);
+            }
+        }
+        
+        /** Evicts entries until this segment holds no more than 'cap' entries. */
+        synchronized void trim(int cap, EvictionPolicy pol) {
+            expunge();
+            
+            while (count > cap && head.after != head) {
+                final Entry evicted = (pol == EvictionPolicy.LFU) ? leastFrequent() : head.after;
+                
+                remove(evicted);
+                stats[stat(evicted.kind, EVICTIONS)] += 1;
+            }
+        }
+        
+        /** Gets the least frequently used entry, ties go to the eldest. */
+        private Entry leastFrequent() {
+            Entry min = head.after;
+            for (Entry e = min.after; e != head && min.hits > 0; e = e.after) {
+                if (e.hits < min.hits) { min = e; }
+            }
+            
+            return min;
+        }
+        
+        /** Removes an entry from the table and list, marking it as evicted. */
+        private void remove(Entry toRemove) {
+            final int idx = toRemove.hash & (table.length - 1);
+            
+            Entry prev = null;
+            for (Entry e = table[idx]; e != null; prev = e, e = e.next) {
+                if (e != toRemove) { continue; }
+                
+                if (prev == null) {
+                    table[idx] = e.next;
+                } else {
+                    prev.next = e.next;
+                }
+                break;
+            }
+            
+            unlink(toRemove);
+            count -= 1;
+            
+            final FillSpan span = toRemove.span();
+            if (span != null) { span.cached = false; }
+            
+            stats[stat(toRemove.kind, SIZE)] -= 1;
+            stats[stat(toRemove.kind, BYTES)] -= toRemove.bytes;
+        }
+        
+        synchronized void clear() {
+            for (Entry e = head.after; e != head; e = e.after) {
+                final FillSpan span = e.span();
+                if (span != null) { span.cached = false; }
+            }
+            
+            // drain the queue, the entries it refers to are gone
+            while (queue.poll() != null) {}
+            
+            table = new Entry[INITIAL_TABLE_SIZE];
+            head.before = head.after = head;
+            count = 0;
+            
+            for (int kind = 0; kind < KIND_COUNT; kind++) {
+                stats[stat(kind, SIZE)] = 0L;
+                stats[stat(kind, BYTES)] = 0L;
+            }
+        }
+        
+        /** Removes the entries whose fill spans have been reclaimed. */
+        private void expunge() {
+            for (Reference<? extends FillSpan> ref; (ref = queue.poll()) != null;) {
+                final Entry e = (ref instanceof WeakSpanRef) ? ((WeakSpanRef) ref).entry : ((SoftSpanRef) ref).entry;
+                
+                // skip entries that were removed, or re-held, since
+                if (e.ref != ref || e.before == null) { continue; }
+                
+                remove(e);
+                stats[stat(e.kind, COLLECTED)] += 1;
+            }
+        }
+        
+        /** Switches every entry over to a reference mode. */
+        synchronized void rehold(ReferenceMode mode) {
+            expunge();
+            
+            for (Entry e = head.after, next; e != head; e = next) {
+                next = e.after;
+                
+                final FillSpan span = e.span();
+                if (span == null) {
+                    // reclaimed, the queued reference is skipped once re-held
+                    remove(e);
+                    stats[stat(e.kind, COLLECTED)] += 1;
+                } else {
+                    e.hold(span, mode, queue);
+                }
+            }
+        }
+        
+        /** Adds this segment's statistics to the specified counters. */
+        synchronized void addStatsTo(long[] counters) {
+            expunge();
+            
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] += stats[i];
+            }
+        }
+        
+        /** Doubles the size of the table. */
+        private void resize() {
+            final Entry[] old = table;
+            final Entry[] tab = new Entry[old.length << 1];
+            final int mask = tab.length - 1;
+            
+            for (Entry bucket : old) {
+                Entry e = bucket;
+                while (e != null) {
+                    final Entry next = e.next;
+                    final int idx = e.hash & mask;
+                    e.next = tab[idx];
+                    tab[idx] = e;
+                    e = next;
+                }
+            }
+            
+            table = tab;
+        }
+        
+        private void linkLast(Entry e) {
+            e.after = head;
+            e.before = head.before;
+            head.before.after = e;
+            head.before = e;
+        }
+        
+        private static void unlink(Entry e) {
+            e.before.after = e.after;
+            e.after.before = e.before;
+            e.before = e.after = null;
+        }
+        
+    } // class Segment
+    
+    /** A cached fill span along with its table chain and list links. */
+    private static final class Entry {
+        final int hash;
+        final int kind; // the span's SpanKind ordinal
+        final int bytes; // the span's and this entry's estimated size
+        // only one of these is set, depending on the reference mode
+        private FillSpan strong;
+        private Reference<FillSpan> ref;
+        Entry next; // next entry in the table bucket
+        Entry before, after; // access order list
+        int hits;
+        
+        Entry(int hash, FillSpan span, Entry next, ReferenceMode mode, ReferenceQueue<FillSpan> queue) {
+            this.hash = hash;
+            this.next = next;
+            
+            // the head sentinel has no span
+            kind = (span == null) ? 0 : span.cacheKind().ordinal();
+            bytes = (span == null) ? 0 : ENTRY_SIZE + span.estimateSize();
+            
+            hold(span, mode, queue);
+        }
+        
+        /** Gets the fill span, or {@code null} if it has been reclaimed. */
+        FillSpan span() {
+            final FillSpan s = strong;
+            
+            return (s != null || ref == null) ? s : ref.get();
+        }
+        
+        /** Holds a fill span according to a reference mode. */
+        void hold(FillSpan span, ReferenceMode mode, ReferenceQueue<FillSpan> queue) {
+            switch (mode) {
+                case WEAK:
+                    strong = null;
+                    ref = new WeakSpanRef(span, this, queue);
+                    break;
+                case SOFT:
+                    strong = null;
+                    ref = new SoftSpanRef(span, this, queue);
+                    break;
+                case STRONG:
+                default:
+                    strong = span;
+                    ref = null;
+                    break;
+            }
+        }
+    }
+    
+    /** A weak reference to a fill span which knows its entry. */
+    private static final class WeakSpanRef extends WeakReference<FillSpan> {
+        final Entry entry;
+        
+        WeakSpanRef(FillSpan span, Entry entry, ReferenceQueue<FillSpan> queue) {
+            super(span, queue);
+            this.entry = entry;
+        }
+    }
+    
+    /** A soft reference to a fill span which knows its entry. */
+    private static final class SoftSpanRef extends SoftReference<FillSpan> {
+        final Entry entry;
+        
+        SoftSpanRef(FillSpan span, Entry entry, ReferenceQueue<FillSpan> queue) {
+            super(span, queue);
+            this.entry = entry;
+        }
+    }
+    
+    
+    /**************************************************************************
+     *                                                                        *
+     * Statistics                                                             *
+     *                                                                        *
+     *************************************************************************/
+    
+    // estimated size of an entry plus its share of the table, compressed oops
+    private static final int ENTRY_SIZE = 48;
+    
+    // the statistics kept per span kind
+    private static final int HITS = 0;
+    private static final int MISSES = 1;
+    private static final int INSERTS = 2;
+    private static final int EVICTIONS = 3;
+    private static final int SIZE = 4;
+    private static final int BYTES = 5;
+    private static final int COLLECTED = 6;
+    private static final int STAT_COUNT = 7;
+    
+    private static final int KIND_COUNT = SpanKind.VALUES.length;
+    
+    /** Gets the index of a span kind's statistic in a counters array. */
+    private static int stat(int kind, int stat) { return kind * STAT_COUNT + stat; }
+    
+    /**
+     * An immutable snapshot of the {@code FillSpanCache}'s statistics, see
+     * {@link FillSpanCache#getStats()}.
+     * <p>
+     * Every statistic is available in total or for a single
+     * {@link SpanKind}. The counts are taken segment by segment, so a
+     * snapshot taken while other threads use the cache is consistent per
+     * segment but not necessarily across segments.
+     * <p>
+     * The estimated bytes cover the cache's entries, the cached fill spans and
+     * the data they precompute, e.g. a gradient fill span's stop arrays,
+     * assuming a 64-bit JVM with compressed references. Paints are not
+     * counted as they are shared with the nodes and stylesheets that use them,
+     * neither are interpolation caches that fill spans grow lazily while
+     * being animated.
+     */
+    public static final class Stats {
+        private final long[] counters;
+        
+        private Stats(long[] counters) { this.counters = counters; }
+        
+        /** @return the number of lookups that found a cached fill span */
+        public long getHitCount() { return sum(HITS); }
+        
+        /**
+         * @param kind - the span kind to get the statistic of
+         * @return the number of lookups that found a cached fill span of the
+         *         specified kind
+         */
+        public long getHitCount(SpanKind kind) { return get(kind, HITS); }
+        
+        /** @return the number of lookups that had to create a fill span */
+        public long getMissCount() { return sum(MISSES); }
+        
+        /**
+         * @param kind - the span kind to get the statistic of
+         * @return the number of lookups that had to create a fill span of the
+         *         specified kind
+         */
+        public long getMissCount(SpanKind kind) { return get(kind, MISSES); }
+        
+        /** @return the number of fill spans added to the cache */
+        public long getInsertCount() { return sum(INSERTS); }
+        
+        /**
+         * @param kind - the span kind to get the statistic of
+         * @return the number of fill spans of the specified kind added to the
+         *         cache
+         */
+        public long getInsertCount(SpanKind kind) { return get(kind, INSERTS); }
+        
+        /** @return the number of fill spans evicted to respect the size bound */
+        public long getEvictionCount() { return sum(EVICTIONS); }
+        
+        /**
+         * @param kind - the span kind to get the statistic of
+         * @return the number of fill spans of the specified kind evicted to
+         *         respect the size bound
+         */
+        public long getEvictionCount(SpanKind kind) { return get(kind, EVICTIONS); }
+        
+        /**
+         * @return the number of weakly or softly held fill spans that were
+         *         reclaimed by the garbage collector
+         */
+        public long getCollectedCount() { return sum(COLLECTED); }
+        
+        /**
+         * @param kind - the span kind to get the statistic of
+         * @return the number of weakly or softly held fill spans of the
+         *         specified kind that were reclaimed by the garbage collector
+         */
+        public long getCollectedCount(SpanKind kind) { return get(kind, COLLECTED); }
+        
+        /** @return the number of cached fill spans */
+        public long getSize() { return sum(SIZE); }
+        
+        /**
+         * @param kind - the span kind to get the statistic of
+         * @return the number of cached fill spans of the specified kind
+         */
+        public long getSize(SpanKind kind) { return get(kind, SIZE); }
+        
+        /** @return the estimated number of bytes retained by the cache */
+        public long getEstimatedBytes() { return sum(BYTES); }
+        
+        /**
+         * @param kind - the span kind to get the statistic of
+         * @return the estimated number of bytes retained by cached fill spans
+         *         of the specified kind
+         */
+        public long getEstimatedBytes(SpanKind kind) { return get(kind, BYTES); }
+        
+        /**
+         * @return the ratio of hits to lookups, or {@code 0.0} if there have
+         *         been no lookups
+         */
+        public double getHitRate() {
+            final long hits = getHitCount();
+            final long total = hits + getMissCount();
+            
+            return (total == 0L) ? 0.0 : (double) hits / total;
+        }
+        
+        private long get(SpanKind kind, int stat) { return counters[stat(kind.ordinal(), stat)]; }
+        
+        private long sum(int stat) {
+            long sum = 0L;
+            for (int kind = 0; kind < KIND_COUNT; kind++) {
+                sum += counters[stat(kind, stat)];
+            }
+            
+            return sum;
+        }
+        
+        /** {@inheritDoc} */
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder("FillSpanCache.Stats [ size: ").append(getSize())
+                .append(", bytes: ").append(getEstimatedBytes()).append(", hits: ").append(getHitCount())
+                .append(", misses: ").append(getMissCount()).append(", inserts: ").append(getInsertCount())
+                .append(", evictions: ").append(getEvictionCount()).append(", collected: ")
+                .append(getCollectedCount()).append(" ]");
+            
+            return sb.toString();
+        }
     }
     
 } // class FillSpanCache
@@ -23,22 +23,16 @@ import static impl.com.jhenly.juifx.fill.FillSpan.USE_TEXT;
 import java.util.ArrayList;
 import java.util.List;
 
-import com.jhenly.juifx.control.Fillable;
-
 import impl.com.jhenly.juifx.fill.BorderFillSpan.BiBorderFillSpan;
 import impl.com.jhenly.juifx.fill.BorderFillSpan.QuadBorderFillSpan;
 import impl.com.jhenly.juifx.fill.FillSpan.BorderStrokePosition;
 import impl.com.jhenly.juifx.util.Replacer;
-import impl.com.jhenly.juifx.util.replacer.DisposableReplacer;
-import javafx.scene.layout.Background;
 import javafx.scene.layout.BackgroundFill;
-import javafx.scene.layout.Border;
 import javafx.scene.layout.BorderStroke;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.LinearGradient;
 import javafx.scene.paint.Paint;
 import javafx.scene.paint.RadialGradient;
-import javafx.scene.shape.Shape;
 
 
 /**
@@ -110,39 +104,50 @@ public final class FillSpanHelper {
      *************************************************************************/
     
     /**
+     * Replaces the special identifiers in a specified {@code FillSpan} with
+     * the paints held by a specified context.
      * 
-     * @param span
-     * @param fillable
-     * @return
+     * @param span - the fill span to replace the special identifiers in
+     * @param ctx - the context to get replacement paints from
+     * @return a fill span with any specials replaced, or {@code span} if it
+     *         contains no specials
      */
-    static FillSpan getFillSpanFromSpecial(FillSpan span, Fillable fillable) {
-        if (span == null || !span.isSpecial() || fillable == null) { return span; }
+    static FillSpan getFillSpanFromSpecial(FillSpan span, ReplaceContext ctx) {
+        if (span == null || !span.isSpecial() || ctx == null) { return span; }
         
-        return fillSpanReplacer().using(fillable).replace(span);
+        return fillSpanReplacer().replace(span, ctx);
     }
     
     /**
+     * Replaces the special identifiers in a specified list of
+     * {@code FillSpan} instances with the paints held by a specified context.
      * 
-     * @param spans
-     * @param fillable
-     * @return
+     * @param spans - the fill spans to replace the special identifiers in
+     * @param ctx - the context to get replacement paints from
+     * @return a new list with any specials replaced, or {@code spans} if it
+     *         is {@code null} or empty
      */
-    static List<FillSpan> getFillSpanListFromSpecial(List<FillSpan> spans, Fillable fillable) {
-        if (spans == null || spans.isEmpty() || fillable == null) { return spans; }
+    static List<FillSpan> getFillSpanListFromSpecial(List<FillSpan> spans, ReplaceContext ctx) {
+        if (spans == null || spans.isEmpty() || ctx == null) { return spans; }
         
-        return fillSpanListReplacer().using(fillable).replace(spans);
+        return fillSpanListReplacer().replace(spans, ctx);
     }
     
     /**
+     * Replaces the special identifiers in a specified list of
+     * {@code BorderFillSpan} instances with the paints held by a specified
+     * context.
      * 
-     * @param spans
-     * @param fillable
-     * @return
+     * @param spans - the border fill spans to replace the special
+     *        identifiers in
+     * @param ctx - the context to get replacement paints from
+     * @return a new list with any specials replaced, or {@code spans} if it
+     *         is {@code null} or empty
      */
-    static List<BorderFillSpan> getBorderFillSpanListFromSpecial(List<BorderFillSpan> spans, Fillable fillable) {
-        if (spans == null || spans.isEmpty() || fillable == null) { return spans; }
+    static List<BorderFillSpan> getBorderFillSpanListFromSpecial(List<BorderFillSpan> spans, ReplaceContext ctx) {
+        if (spans == null || spans.isEmpty() || ctx == null) { return spans; }
         
-        return borderFillSpanListReplacer().using(fillable).replace(spans);
+        return borderFillSpanListReplacer().replace(spans, ctx);
     }
     
     
@@ -153,36 +158,15 @@ public final class FillSpanHelper {
      *************************************************************************/
     
     /**
-     * Base {@link DisposableReplacer} implementation for
-     * {@link FillSpanReplacer}, {@link FillSpanListReplacer} and
-     * {@link BorderFillSpanListReplacer}.
+     * Base {@link Replacer} implementation for {@link FillSpanReplacer},
+     * {@link FillSpanListReplacer} and {@link BorderFillSpanListReplacer}.
+     * <p>
+     * Replacers hold no state, everything a replacement needs is passed in
+     * via the {@link ReplaceContext} and the {@code defIndex} parameters, so
+     * the singleton instances can be used concurrently from any thread.
      * @since JuiFX 1.0
      */
-    private static abstract class FillSpanReplacerBase<T> extends DisposableReplacer<T> {
-        protected static final List<BackgroundFill> NULL_BG = List.of();
-        protected static final List<BorderStroke> NULL_BD = List.of();
-        
-        // members
-        protected Fillable fable;
-        
-        /** {@inheritDoc} */
-        @Override
-        protected void dispose() {
-            super.dispose();
-            fable = null;
-        }
-        
-        /**
-         * Sets the {@link Fillable} instance which is used to get replacement
-         * paints.
-         * @param fillable - the {@code Fillable} to get replacement paints
-         *        from
-         * @return a reference to this instance
-         */
-        public Replacer<T> using(Fillable fillable) {
-            fable = fillable;
-            return this;
-        }
+    private static abstract class FillSpanReplacerBase<T> implements Replacer<T, ReplaceContext> {
         
         /**
          * Checks if the specified {@link FillSpan} contains any special
@@ -192,17 +176,23 @@ public final class FillSpanHelper {
          * specified {@code FillSpan}.
          * 
          * @param span - the fill span to check and, if need be, replace
+         * @param ctx - the context to get replacement paints from
+         * @param defIndex - the background fill or border stroke index used
+         *        when the special identifier does not specify one
          * @return a fill span with any specials replaced, or the specified
          *         fill span if it contains no specials
          */
-        protected FillSpan replaceSpecial(SpecialFillSpan span) {
+        protected static FillSpan replaceSpecial(SpecialFillSpan span, ReplaceContext ctx, int defIndex) {
             // 'from' and 'to' can't be null
             Paint repFrom = span.from();
             Paint repTo = span.to();
             
-            // replace any special id. paint with the fillable's replacement
-            repFrom = span.fromIsSpecial() ? getReplacementPaint(repFrom, span.fromIndex(), span.fromBsPos()) : repFrom;
-            repTo = span.toIsSpecial() ? getReplacementPaint(repTo, span.toIndex(), span.toBsPos()) : repTo;
+            // replace any special id. paint with the context's replacement
+            repFrom = span.fromIsSpecial()
+                ? getReplacementPaint(repFrom, span.fromIndex(), span.fromBsPos(), ctx, defIndex)
+                : repFrom;
+            repTo = span.toIsSpecial() ? getReplacementPaint(repTo, span.toIndex(), span.toBsPos(), ctx, defIndex)
+                : repTo;
             
             return FillSpan.of(repFrom, repTo);
         }
@@ -214,29 +204,29 @@ public final class FillSpanHelper {
          * @param index - the index of the replacement fill or stroke to get,
          *        if any
          * @param pos - the border stroke position, if any
+         * @param ctx - the context to get replacement paints from
+         * @param defIndex - the index used when {@code index} is unspecified
          * @return the paint to replace the special paint identifier with
          */
-        protected Paint getReplacementPaint(Paint specialId, int index, int pos) {
-            if (fable == null) {
-                // this only happens if we mistakenly don't set 'fable'
-                return getReplaceErrorIdentifier(
-                    "JuiFX replace special identifier in Fill error: Fillable not set before replacing special identifiers");
-            }
+        private static Paint getReplacementPaint(Paint specialId, int index, int pos, ReplaceContext ctx,
+            int defIndex) {
+            // index of -1 means the special identifier did not specify one
+            final int idx = (index < 0) ? defIndex : index;
             
             if (specialId == USE_BG) {
-                return getBgFillPaint(index);
+                return getBgFillPaint(ctx.bgFills(), idx);
                 
             } else if (specialId == USE_BORDER) {
-                return getBorderStrokePaint(index, pos);
+                return getBorderStrokePaint(ctx.bdStrokes(), idx, pos);
                 
             } else if (specialId == USE_TEXT) {
-                return getTextFillPaint();
+                return paintOrReplaceError(ctx.textFill());
                 
             } else if (specialId == USE_SHAPE) {
-                return getShapeFillPaint();
+                return paintOrReplaceError(ctx.shapeFill());
                 
             } else if (specialId == USE_STROKE) {
-                return getStrokeFillPaint();
+                return paintOrReplaceError(ctx.strokeFill());
                 
             }
             
@@ -246,21 +236,33 @@ public final class FillSpanHelper {
         }
         
         /** 
-         * Gets a {@code Color} from a {@link BackgroundFill}.
-         * @param index - the index of the background fill to replace the color
-         *        with
-         * @return the background fill color
+         * Gets a paint from a {@link BackgroundFill}, indices count from the
+         * innermost background fill.
+         * @param bgFills - the background fills
+         * @param idx - the index of the background fill to get the paint of
+         * @return the background fill paint
          */
-        protected abstract Paint getBgFillPaint(int index);
+        private static Paint getBgFillPaint(List<BackgroundFill> bgFills, int idx) {
+            // don't write any error messages, this could get re-applied
+            if (idx >= bgFills.size()) { return getReplaceErrorIdentifier(); }
+            
+            return bgFills.get((bgFills.size() - 1) - idx).getFill();
+        }
         
         /** 
-         * Gets a {@code Color} from a {@link BorderStroke}.
-         * @param index - the index of the border stroke to replace the color
-         *        with
+         * Gets a paint from a {@link BorderStroke}, indices count from the
+         * innermost border stroke.
+         * @param bdStrokes - the border strokes
+         * @param idx - the index of the border stroke to get the paint of
          * @param pos - the border stroke position, if any
-         * @return the border fill color
+         * @return the border stroke paint
          */
-        protected abstract Paint getBorderStrokePaint(int index, int pos);
+        private static Paint getBorderStrokePaint(List<BorderStroke> bdStrokes, int idx, int pos) {
+            // don't write any error messages, this could get re-applied
+            if (idx >= bdStrokes.size()) { return getReplaceErrorIdentifier(); }
+            
+            return getBorderStroke(bdStrokes.get((bdStrokes.size() - 1) - idx), pos);
+        }
         
         /**
          * Gets a border stroke from a specified {@link BorderStroke} at the
@@ -271,7 +273,7 @@ public final class FillSpanHelper {
          * @return a border stroke from a specified {@link BorderStroke} at the
          *         specified position
          */
-        protected static Paint getBorderStroke(BorderStroke stroke, int pos) {
+        private static Paint getBorderStroke(BorderStroke stroke, int pos) {
             /* See the 'FillSpan#BorderStrokePosition' enum to understand where the values
              * below are derived from. */
             switch (pos) {
@@ -287,30 +289,7 @@ public final class FillSpanHelper {
             }
         }
         
-        /** Helper that gets the text fill color. */
-        protected Paint getTextFillPaint() {
-            return paintOrReplaceError(fable.getTextFill());
-        }
-        
-        /** Helper that gets the shape fill color. */
-        protected Paint getShapeFillPaint() {
-            final Shape shape = fable.getShape();
-            if (shape == null) { return getReplaceErrorIdentifier(); }
-            
-            // 'shape.getFill()' can return null for certain shapes
-            return paintOrReplaceError(shape.getFill());
-        }
-        
-        /** Helper that gets the stroke fill color. */
-        protected Paint getStrokeFillPaint() {
-            final Shape shape = fable.getShape();
-            if (shape == null) { return getReplaceErrorIdentifier(); }
-            
-            // 'shape.getStroke()' can return null for certain shapes
-            return paintOrReplaceError(shape.getStroke());
-        }
-        
-        private Paint paintOrReplaceError(Paint p) {
+        private static Paint paintOrReplaceError(Paint p) {
             return (p != null) ? p : getReplaceErrorIdentifier();
         }
         
@@ -320,51 +299,15 @@ public final class FillSpanHelper {
      * {@link FillSpanReplacerBase} implementation used to replace special
      * color identifiers in a single {@link FillSpan}.
      */
-    private static class FillSpanReplacer extends FillSpanReplacerBase<FillSpan> {
+    private static final class FillSpanReplacer extends FillSpanReplacerBase<FillSpan> {
         
         @Override
-        protected void dispose() {
-            super.dispose();
-        }
-        
-        @Override
-        protected FillSpan replaceImpl(FillSpan fillSpan) {
+        public FillSpan replace(FillSpan fillSpan, ReplaceContext ctx) {
             // return the fill span if neither 'from' nor 'to' is a special id.
             if (!fillSpan.isSpecial()) { return fillSpan; }
             
-            return replaceSpecial((SpecialFillSpan) fillSpan);
-        }
-        
-        @Override
-        protected Paint getBgFillPaint(int index) {
-            final Background bg = fable.getBackground();
-            
-            final List<BackgroundFill> bgFills = (bg == null) ? NULL_BG : bg.getFills();
-            
-            // set index to 0 if it is the default of -1
-            final int idx = (index < 0) ? 0 : index;
-            
-            // don't write any error messages, this could get re-applied
-            if (idx >= bgFills.size()) { return getReplaceErrorIdentifier(); }
-            
-            // get the innermost background fill paint
-            return bgFills.get((bgFills.size() - 1) - idx).getFill();
-        }
-        
-        @Override
-        protected Paint getBorderStrokePaint(int index, int pos) {
-            final Border bd = fable.getBorder();
-            
-            final List<BorderStroke> bdStrokes = (bd == null) ? NULL_BD : bd.getStrokes();
-            
-            // single span, so set index to 0 if it is the default of -1
-            final int idx = (index < 0) ? 0 : index;
-            
-            // don't write any error messages, this could get re-applied
-            if (idx >= bdStrokes.size()) { return getReplaceErrorIdentifier(); }
-            
-            // get the innermost border stroke color
-            return getBorderStroke(bdStrokes.get((bdStrokes.size() - 1) - idx), pos);
+            // single span, so the innermost fill or stroke is the default
+            return replaceSpecial((SpecialFillSpan) fillSpan, ctx, 0);
         }
         
     } // class FillSpanReplacer
@@ -373,114 +316,44 @@ public final class FillSpanHelper {
      * {@link FillSpanReplacerBase} implementation used to replace special
      * color identifiers in a list of {@link FillSpan}.
      */
-    private static class FillSpanListReplacer extends FillSpanReplacerBase<List<FillSpan>> {
-        protected List<FillSpan> ret; // set in replaceImpl
-        
-        int loopIndex; // current index in the replace loop
-        
-        protected List<BackgroundFill> bgFills; // background fills
-        protected List<BorderStroke> bdStrokes; // border strokes
-        
-        @Override
-        protected void dispose() {
-            super.dispose();
-            ret = null;
-            loopIndex = 0;
-            bgFills = NULL_BG;
-            bdStrokes = NULL_BD;
-        }
+    private static final class FillSpanListReplacer extends FillSpanReplacerBase<List<FillSpan>> {
         
         @Override
-        protected List<FillSpan> replaceImpl(List<FillSpan> spans) {
-            // cache bg fills and bd strokes
-            setBgFillsAndBdStrokes();
-            
-            ret = new ArrayList<>(spans);
-            for (loopIndex = 0; loopIndex < ret.size(); loopIndex++) {
-                final FillSpan span = getSpanFromRet(loopIndex);
+        public List<FillSpan> replace(List<FillSpan> spans, ReplaceContext ctx) {
+            final List<FillSpan> ret = new ArrayList<>(spans);
+            final int last = ret.size() - 1;
+            
+            // 'i' counts from the innermost span and is each span's default
+            // replacement index
+            for (int i = 0; i <= last; i++) {
+                final FillSpan span = ret.get(last - i);
                 
                 // if span isn't special then move to next fill span
                 if (!span.isSpecial()) { continue; }
                 
-                replaceSpanInRet(replaceSpecial((SpecialFillSpan) span));
+                ret.set(last - i, replaceSpecial((SpecialFillSpan) span, ctx, i));
             }
             
             return ret;
         }
         
-        /** Caches bg. fills and bd. strokes so we don't have to get them again. */
-        protected void setBgFillsAndBdStrokes() {
-            // fable should not be null
-            final Background bg = fable.getBackground();
-            final Border bd = fable.getBorder();
-            
-            bgFills = (bg == null) ? NULL_BG : bg.getFills();
-            bdStrokes = (bd == null) ? NULL_BD : bd.getStrokes();
-        }
-        
-        /** Replaces a fill span in 'ret' */
-        protected void replaceSpanInRet(FillSpan span) {
-            ret.set((ret.size() - 1) - loopIndex, span);
-        }
-        
-        protected FillSpan getSpanFromRet(int index) {
-            return ret.get((ret.size() - 1) - index);
-        }
-        
-        @Override
-        protected Paint getBgFillPaint(int index) {
-            // index refers to the fill span's replacement index here
-            final int idx = (index == -1) ? loopIndex : index;
-            
-            // don't write any error messages, this could get re-applied
-            if (idx >= bgFills.size()) { return getReplaceErrorIdentifier(); }
-            
-            return bgFills.get((bgFills.size() - 1) - idx).getFill();
-        }
-        
-        @Override
-        protected Paint getBorderStrokePaint(int index, int pos) {
-            // index refers to the fill span's replacement index here
-            final int idx = (index == -1) ? loopIndex : index;
-            
-            // don't write any error messages, this could get re-applied
-            if (idx >= bdStrokes.size()) { return getReplaceErrorIdentifier(); }
-            
-            return getBorderStroke(bdStrokes.get((bdStrokes.size() - 1) - idx), pos);
-        }
-        
-        
     } // class FillSpanListReplacer
     
     /**
      * {@link FillSpanReplacerBase} implementation used to replace special
      * color identifiers in a list of {@link BorderFillSpan}.
      */
-    private static class BorderFillSpanListReplacer extends FillSpanReplacerBase<List<BorderFillSpan>> {
-        protected List<BorderFillSpan> ret; // set in replaceImpl
-        
-        int loopIndex; // current index in the replace loop
-        
-        protected List<BackgroundFill> bgFills; // background fills
-        protected List<BorderStroke> bdStrokes; // border strokes
-        
-        @Override
-        protected void dispose() {
-            super.dispose();
-            ret = null;
-            loopIndex = 0;
-            bgFills = NULL_BG;
-            bdStrokes = NULL_BD;
-        }
+    private static final class BorderFillSpanListReplacer extends FillSpanReplacerBase<List<BorderFillSpan>> {
         
         @Override
-        protected List<BorderFillSpan> replaceImpl(List<BorderFillSpan> spans) {
-            // cache bg fills and bd strokes
-            setBgFillsAndBdStrokes();
-            
-            ret = new ArrayList<>(spans);
-            for (loopIndex = 0; loopIndex < ret.size(); loopIndex++) {
-                BorderFillSpan span = getSpanFromRet(loopIndex);
+        public List<BorderFillSpan> replace(List<BorderFillSpan> spans, ReplaceContext ctx) {
+            final List<BorderFillSpan> ret = new ArrayList<>(spans);
+            final int last = ret.size() - 1;
+            
+            // 'i' counts from the innermost span and is each span's default
+            // replacement index
+            for (int i = 0; i <= last; i++) {
+                final BorderFillSpan span = ret.get(last - i);
                 
                 // if border fill span doesn't contain a special then continue
                 if (!span.isSpecial()) { continue; }
@@ -489,103 +362,38 @@ public final class FillSpanHelper {
                 
                 if (span.isUniform()) {
                     // uniform border fill span means 't = r = b = l'
-                    repl = replaceUni(span);
+                    repl = replaceUni(span, ctx, i);
                 } else if (span.getClass() == BiBorderFillSpan.class) {
                     // bi border fill span mean 't = b' and 'r = l'
-                    repl = replaceBi(span);
+                    repl = replaceBi(span, ctx, i);
                 } else if (span.getClass() == QuadBorderFillSpan.class) {
-                    repl = replaceQuad(span);
+                    repl = replaceQuad(span, ctx, i);
                 }
                 
-                replaceSpanInRet(repl);
+                ret.set(last - i, repl);
             }
             
             return ret;
         }
         
-        
-        /** Caches bg. fills and bd. strokes so we don't have to get them again. */
-        protected void setBgFillsAndBdStrokes() {
-            // fable should not be null
-            final Background bg = fable.getBackground();
-            final Border bd = fable.getBorder();
-            
-            bgFills = (bg == null) ? NULL_BG : bg.getFills();
-            bdStrokes = (bd == null) ? NULL_BD : bd.getStrokes();
-        }
-        
-        /** Replaces a fill span in 'ret' */
-        protected void replaceSpanInRet(BorderFillSpan span) {
-            ret.set((ret.size() - 1) - loopIndex, span);
-        }
-        
-        protected BorderFillSpan getSpanFromRet(int index) {
-            return ret.get((ret.size() - 1) - index);
-        }
-        
-        @Override
-        protected Paint getBgFillPaint(int index) {
-            // index refers to the fill span's replacement index here
-            final int idx = (index == -1) ? loopIndex : index;
-            
-            // don't write any error messages, this could get re-applied
-            if (idx >= bgFills.size()) { return getReplaceErrorIdentifier(); }
-            
-            return bgFills.get((bgFills.size() - 1) - idx).getFill();
-        }
-        
-        @Override
-        protected Paint getBorderStrokePaint(int index, int pos) {
-            // index refers to the fill span's replacement index here
-            final int idx = (index == -1) ? loopIndex : index;
-            
-            // don't write any error messages, this could get re-applied
-            if (idx >= bdStrokes.size()) { return getReplaceErrorIdentifier(); }
-            
-            return getBorderStroke(bdStrokes.get((bdStrokes.size() - 1) - idx), pos);
-        }
-        
         /** Replaces a uniform border fill span. */
-        private BorderFillSpan replaceUni(BorderFillSpan span) {
-            return BorderFillSpan.of(replaceSpecial((SpecialFillSpan) span.getTop()));
+        private static BorderFillSpan replaceUni(BorderFillSpan span, ReplaceContext ctx, int i) {
+            return BorderFillSpan.of(replaceSpecial((SpecialFillSpan) span.getTop(), ctx, i));
         }
         
         /** Replaces a bi-uniform (top == bottom, right == left) border fill span. */
-        private BorderFillSpan replaceBi(BorderFillSpan span) {
-            FillSpan replTop = span.getTop();
-            FillSpan replRight = span.getRight();
-            
-            if (replTop.isSpecial()) {
-                replTop = replaceSpecial((SpecialFillSpan) replTop);
-            }
-            if (replRight.isSpecial()) {
-                replRight = replaceSpecial((SpecialFillSpan) replRight);
-            }
-            
-            return BorderFillSpan.of(replTop, replRight);
+        private static BorderFillSpan replaceBi(BorderFillSpan span, ReplaceContext ctx, int i) {
+            return BorderFillSpan.of(replaceIfSpecial(span.getTop(), ctx, i), replaceIfSpecial(span.getRight(), ctx, i));
         }
         
         /** Replaces a non-uniform (top != right != bottom != left) border fill span.  */
-        private BorderFillSpan replaceQuad(BorderFillSpan span) {
-            FillSpan replTop = span.getTop();
-            FillSpan replRight = span.getRight();
-            FillSpan replBottom = span.getBottom();
-            FillSpan replLeft = span.getLeft();
-            
-            if (replTop.isSpecial()) {
-                replTop = replaceSpecial((SpecialFillSpan) replTop);
-            }
-            if (replRight.isSpecial()) {
-                replRight = replaceSpecial((SpecialFillSpan) replRight);
-            }
-            if (replBottom.isSpecial()) {
-                replBottom = replaceSpecial((SpecialFillSpan) replBottom);
-            }
-            if (replLeft.isSpecial()) {
-                replLeft = replaceSpecial((SpecialFillSpan) replLeft);
-            }
-            
-            return BorderFillSpan.of(replTop, replRight, replBottom, replLeft);
+        private static BorderFillSpan replaceQuad(BorderFillSpan span, ReplaceContext ctx, int i) {
+            return BorderFillSpan.of(replaceIfSpecial(span.getTop(), ctx, i), replaceIfSpecial(span.getRight(), ctx, i),
+                replaceIfSpecial(span.getBottom(), ctx, i), replaceIfSpecial(span.getLeft(), ctx, i));
+        }
+        
+        private static FillSpan replaceIfSpecial(FillSpan span, ReplaceContext ctx, int i) {
+            return span.isSpecial() ? replaceSpecial((SpecialFillSpan) span, ctx, i) : span;
         }
         
     } // class BorderFillSpanListReplacer
@@ -725,23 +533,31 @@ public final class FillSpanHelper {
     /**
      * Used to check for equality between two {@code FillSpan} instances.
      * <p>
-     * This method should only be used after the fill spans have been added to
-     * the cache, if {@link FillSpanCache} is enabled.
+     * If {@link FillSpanCache} is enabled and both fill spans are currently
+     * held by the cache, then reference equality is used. Otherwise, i.e. one
+     * of the fill spans was evicted or created while the cache was disabled,
+     * object equality is used.
      * @param a - the fill span to check against {@code b}
      * @param b - the fill span to check against {@code a}
      * @return {@code true} if {@code a} equals {@code b}, otherwise
      *         {@code false}
      */
     static <T extends FillSpan> boolean fillSpansAreEqual(T a, T b) {
-        return a == null ? b == null : (FillSpanCache.isCacheEnabled() ? a == b : a.equals(b));
+        if (a == b) { return true; }
+        if (a == null || b == null) { return false; }
+        
+        // cached fill spans are canonical, so distinct references are unequal
+        if (FillSpanCache.isCacheEnabled() && a.cached && b.cached) { return false; }
+        
+        return a.equals(b);
     }
     
     /**
      * Used to check for equality between two lists of {@code FillSpan}
      * instances.
      * <p>
-     * This method should only be used after any fill spans have been added to
-     * the cache, if {@link FillSpanCache} is enabled.
+     * Each pair of fill spans is compared via
+     * {@link #fillSpansAreEqual(FillSpan, FillSpan)}.
      * @param a - the fill span list to check against {@code b}
      * @param b - the fill span list to check against {@code a}
      * @return {@code true} if {@code a} equals {@code b}, otherwise
@@ -752,25 +568,20 @@ public final class FillSpanHelper {
         
         if (a.size() != b.size()) { return false; }
         
-        if (FillSpanCache.isCacheEnabled()) {
-            for (int i = 0, n = a.size(); i < n; i++) {
-                if (a.get(i) != b.get(i)) { return false; }
-            }
-            
-            // if we reach this point the lists are equal
-            return true;
+        for (int i = 0, n = a.size(); i < n; i++) {
+            if (!fillSpansAreEqual(a.get(i), b.get(i))) { return false; }
         }
         
-        // if FillSpanCache is disabled then use object equality
-        return a.equals(b);
+        // if we reach this point the lists are equal
+        return true;
     }
     
     /**
      * Used to check for equality between two arrays of {@code FillSpan}
      * instances.
      * <p>
-     * This method should only be used after any fill spans have been added to
-     * the cache, if {@link FillSpanCache} is enabled.
+     * Each pair of fill spans is compared via
+     * {@link #fillSpansAreEqual(FillSpan, FillSpan)}.
      * @param a - the fill span array to check against {@code b}
      * @param b - the fill span array to check against {@code a}
      * @return {@code true} if {@code a} equals {@code b}, otherwise
@@ -781,16 +592,8 @@ public final class FillSpanHelper {
         
         if (a.length != b.length) { return false; }
         
-        // use reference equality if FillSpanCache is enabled
-        if (FillSpanCache.isCacheEnabled()) {
-            for (int i = 0, n = a.length; i < n; i++) {
-                if (a[i] != b[i]) { return false; }
-            }
-            return true;
-        }
-        
         for (int i = 0, n = a.length; i < n; i++) {
-            if (!a[i].equals(b[i])) { return false; }
+            if (!fillSpansAreEqual(a[i], b[i])) { return false; }
         }
         
         // if we reach this point the arrays are equal
@@ -836,4 +639,28 @@ public final class FillSpanHelper {
         return true;
     }
     
+    
+    /**************************************************************************
+     *                                                                        *
+     * Color Packing                                                          *
+     *                                                                        *
+     *************************************************************************/
+    
+    /**
+     * Packs a color's 8-bit channels into a {@code 0xAARRGGBB} integer.
+     * <p>
+     * This is the packing {@code ColorFillSpan} interpolates with, so two
+     * colors that pack to the same integer are displayed the same.
+     * 
+     * @param c - the color to pack
+     * @return the color's packed 8-bit channels
+     */
+    public static int toArgb(Color c) {
+        return (to8Bit(c.getOpacity()) << 24) | (to8Bit(c.getRed()) << 16) | (to8Bit(c.getGreen()) << 8)
+               | to8Bit(c.getBlue());
+    }
+    
+    /** Converts a color component in the range [0.0, 1.0] to [0, 255]. */
+    private static int to8Bit(double component) { return (int) Math.round(component * 255.0); }
+    
 }
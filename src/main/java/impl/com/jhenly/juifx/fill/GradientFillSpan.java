@@ -2,10 +2,8 @@ package impl.com.jhenly.juifx.fill;
 
 import static javafx.animation.Interpolator.EASE_BOTH;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 import javafx.scene.paint.Color;
 import javafx.scene.paint.LinearGradient;
@@ -125,8 +123,7 @@ abstract class GradientFillSpan<T extends Paint, E extends Paint> extends FillSp
             if (from.getClass() == LinearGradient.class) {
                 
                 if (to.getClass() == LinearGradient.class) {
-                    return FillSpan
-                        .getFromCache(LinearToLinearFillSpan.ofLinear((LinearGradient) from, (LinearGradient) to));
+                    return getFromCache(LINEAR_TO_LINEAR, from, to, Factories.LINEAR_TO_LINEAR);
                     
                 } else {
                     // 'to' is a RadialGradient, use RadialToRadialFillSpan since linear to radial
@@ -134,7 +131,7 @@ abstract class GradientFillSpan<T extends Paint, E extends Paint> extends FillSp
                     RadialGradient convertedFrom =
                     newRadialGradient((RadialGradient) to, ((LinearGradient) from).getStops());
                     
-                    return FillSpan.getFromCache(RadialToRadialFillSpan.ofRadial(convertedFrom, (RadialGradient) to));
+                    return getFromCache(RADIAL_TO_RADIAL, convertedFrom, to, Factories.RADIAL_TO_RADIAL);
                 }
                 
             } else {
@@ -145,13 +142,12 @@ abstract class GradientFillSpan<T extends Paint, E extends Paint> extends FillSp
                     LinearGradient convertedFrom =
                     newLinearGradient((LinearGradient) to, ((RadialGradient) from).getStops());
                     
-                    return FillSpan.getFromCache(LinearToLinearFillSpan.ofLinear(convertedFrom, (LinearGradient) to));
+                    return getFromCache(LINEAR_TO_LINEAR, convertedFrom, to, Factories.LINEAR_TO_LINEAR);
                     
                 } else {
                     
                     // 'to' is a RadialGradient
-                    return FillSpan
-                        .getFromCache(RadialToRadialFillSpan.ofRadial((RadialGradient) from, (RadialGradient) to));
+                    return getFromCache(RADIAL_TO_RADIAL, from, to, Factories.RADIAL_TO_RADIAL);
                 }
                 
             }
@@ -159,19 +155,19 @@ abstract class GradientFillSpan<T extends Paint, E extends Paint> extends FillSp
         } else if (fromIsGradient) {
             // 'from' is a gradient and 'to' is a color
             if (from.getClass() == LinearGradient.class) {
-                return FillSpan.getFromCache(new LinearToColorFillSpan(from, to));
+                return getFromCache(LINEAR_TO_COLOR, from, to, Factories.LINEAR_TO_COLOR);
             } else {
                 // 'from' is a RadialGradient
-                return FillSpan.getFromCache(new RadialToColorFillSpan(from, to));
+                return getFromCache(RADIAL_TO_COLOR, from, to, Factories.RADIAL_TO_COLOR);
             }
             
         } else {
             // 'from' is a color and 'to' is a gradient
             if (to.getClass() == LinearGradient.class) {
-                return FillSpan.getFromCache(new ColorToLinearFillSpan(from, to));
+                return getFromCache(COLOR_TO_LINEAR, from, to, Factories.COLOR_TO_LINEAR);
             } else {
                 // 'to' is a RadialGradient
-                return FillSpan.getFromCache(new ColorToRadialFillSpan(from, to));
+                return getFromCache(COLOR_TO_RADIAL, from, to, Factories.COLOR_TO_RADIAL);
             }
         }
         
@@ -196,13 +192,57 @@ abstract class GradientFillSpan<T extends Paint, E extends Paint> extends FillSp
         // FillSpan.of(...) takes care of that
         
         if (same.getClass() == LinearGradient.class) {
-            return FillSpan.getFromCache(new LinearToLinearFillSpan(same));
+            return getFromCache(LINEAR_TO_LINEAR, same, same, Factories.LINEAR_SAME);
         } else {
-            return FillSpan.getFromCache(new RadialToRadialFillSpan(same));
+            return getFromCache(RADIAL_TO_RADIAL, same, same, Factories.RADIAL_SAME);
         }
     }
     
     
+    /**************************************************************************
+     *                                                                        *
+     * Fill Span Cache                                                        *
+     *                                                                        *
+     *************************************************************************/
+    
+    // the per subclass values added to each gradient fill span's hash
+    private static final int COLOR_TO_LINEAR = 1;
+    private static final int COLOR_TO_RADIAL = 2;
+    private static final int LINEAR_TO_COLOR = 3;
+    private static final int LINEAR_TO_LINEAR = 4;
+    private static final int RADIAL_TO_COLOR = 6;
+    private static final int RADIAL_TO_RADIAL = 8;
+    
+    /**
+     * Gets a cached gradient fill span without allocating a probe span.
+     * 
+     * @param kind - the value the gradient fill span adds to its hash
+     * @param from - the fill-from paint
+     * @param to - the fill-to paint
+     * @param factory - creates the gradient fill span on a cache miss
+     * @return a cached gradient fill span
+     */
+    private static FillSpan getFromCache(int kind, Paint from, Paint to, FillSpanCache.SpanFactory factory) {
+        return FillSpan.getFromCache(31 * hashOf(from, to) + kind, from, to, 0, factory);
+    }
+    
+    // lazy, thread safe instantiation of the non-capturing cache miss factories
+    private static final class Factories {
+        static final FillSpanCache.SpanFactory COLOR_TO_LINEAR = (f, t, a) -> new ColorToLinearFillSpan(f, t);
+        static final FillSpanCache.SpanFactory COLOR_TO_RADIAL = (f, t, a) -> new ColorToRadialFillSpan(f, t);
+        static final FillSpanCache.SpanFactory LINEAR_TO_COLOR = (f, t, a) -> new LinearToColorFillSpan(f, t);
+        static final FillSpanCache.SpanFactory RADIAL_TO_COLOR = (f, t, a) -> new RadialToColorFillSpan(f, t);
+        static final FillSpanCache.SpanFactory LINEAR_TO_LINEAR =
+        (f, t, a) -> LinearToLinearFillSpan.ofLinear((LinearGradient) f, (LinearGradient) t);
+        static final FillSpanCache.SpanFactory RADIAL_TO_RADIAL =
+        (f, t, a) -> RadialToRadialFillSpan.ofRadial((RadialGradient) f, (RadialGradient) t);
+        static final FillSpanCache.SpanFactory LINEAR_SAME = (f, t, a) -> new LinearToLinearFillSpan(f);
+        static final FillSpanCache.SpanFactory RADIAL_SAME = (f, t, a) -> new RadialToRadialFillSpan(f);
+        
+        private Factories() { throw new IllegalAccessError("the Factories class should not be instantiated"); }
+    }
+    
+    
     /**************************************************************************
      *                                                                        *
      * New Gradient Helpers                                                   *
@@ -227,6 +267,24 @@ abstract class GradientFillSpan<T extends Paint, E extends Paint> extends FillSp
             old.getRadius(), old.isProportional(), old.getCycleMethod(), stops);
     }
     
+    /**
+     * Convenience method that creates a new LinearGradient from an old 
+     * LinearGradient with new stops.
+     */
+    private static LinearGradient newLinearGradient(LinearGradient old, Stop[] stops) {
+        return new LinearGradient(old.getStartX(), old.getStartY(), old.getEndX(), old.getEndY(), old.isProportional(),
+            old.getCycleMethod(), stops);
+    }
+    
+    /**
+     * Convenience method that creates a new RadialGradient from an old 
+     * RadialGradient with new stops.
+     */
+    private static RadialGradient newRadialGradient(RadialGradient old, Stop[] stops) {
+        return new RadialGradient(old.getFocusAngle(), old.getFocusDistance(), old.getCenterX(), old.getCenterY(),
+            old.getRadius(), old.isProportional(), old.getCycleMethod(), stops);
+    }
+    
     
     /**************************************************************************
      *                                                                        *
@@ -239,30 +297,180 @@ abstract class GradientFillSpan<T extends Paint, E extends Paint> extends FillSp
         return start == end ? start : EASE_BOTH.interpolate(start, end, frac);
     }
     
-    private static Stop interpolateStop(Color from, Stop to, double frac) {
-        return new Stop(to.getOffset(), from.interpolate(to.getColor(), frac));
-    }
-    
-    private static Stop interpolateStop(Stop from, Color to, double frac) {
-        return new Stop(from.getOffset(), from.getColor().interpolate(to, frac));
-    }
-    
-    private static Stop interpolateStop(Stop from, Stop to, double frac) {
-        final Color color = from.getColor().interpolate(to.getColor(), frac);
-        final double offset = interpolateDouble(from.getOffset(), to.getOffset(), frac);
+    /**
+     * The stop offsets and color channels of a gradient fill span's fill-from
+     * and fill-to, unpacked into primitive arrays when the fill span is
+     * created so that each frame is interpolated with plain loops.
+     * <p>
+     * Stop {@code i} of an interpolated gradient is interpolated from
+     * {@code fOffsets[i]} and fill-from's color channels at {@code i} to
+     * {@code tOffsets[i]} and fill-to's color channels at {@code i}.
+     */
+    private static final class StopTable {
+        private final int size;
+        // 'tOffsets' is 'fOffsets' when the offsets don't change
+        private final double[] fOffsets, tOffsets;
+        // red, green, blue and opacity of each stop, one after another
+        private final double[] fChannels, tChannels;
+        
+        private StopTable(double[] fOffsets, double[] tOffsets, double[] fChannels, double[] tChannels) {
+            size = fOffsets.length;
+            this.fOffsets = fOffsets;
+            this.tOffsets = Arrays.equals(fOffsets, tOffsets) ? fOffsets : tOffsets;
+            this.fChannels = fChannels;
+            this.tChannels = tChannels;
+        }
         
-        return new Stop(offset, color);
-    }
-    
-    private static List<Stop> interpolateStops(Color from, List<Stop> to, double frac) {
-        return IntStream.range(0, to.size()).mapToObj(i -> interpolateStop(from, to.get(i), frac))
-            .collect(Collectors.toList());
-    }
-    
-    private static List<Stop> interpolateStops(List<Stop> from, Color to, double frac) {
-        return IntStream.range(0, from.size()).mapToObj(i -> interpolateStop(from.get(i), to, frac))
-            .collect(Collectors.toList());
-    }
+        /** Estimates the size of a stop table, its arrays included. */
+        private static int estimateSize(StopTable table) {
+            if (table == null) { return 0; }
+            
+            final int offsets = (table.tOffsets == table.fOffsets) ? 1 : 2;
+            
+            return 32 + offsets * sizeOf(table.fOffsets) + sizeOf(table.fChannels) + sizeOf(table.tChannels);
+        }
+        
+        private static int sizeOf(double[] array) { return 16 + 8 * array.length; }
+        
+        /** Creates a stop table for a color to gradient fill span. */
+        private static StopTable of(Color from, List<Stop> to) {
+            final double[] offsets = offsetsOf(to);
+            
+            return new StopTable(offsets, offsets, channelsOf(from, to.size()), channelsOf(to));
+        }
+        
+        /** Creates a stop table for a gradient to color fill span. */
+        private static StopTable of(List<Stop> from, Color to) {
+            final double[] offsets = offsetsOf(from);
+            
+            return new StopTable(offsets, offsets, channelsOf(from), channelsOf(to, from.size()));
+        }
+        
+        /** Creates a stop table for gradients with the same number of stops. */
+        private static StopTable of(List<Stop> from, List<Stop> to) {
+            return new StopTable(offsetsOf(from), offsetsOf(to), channelsOf(from), channelsOf(to));
+        }
+        
+        /**
+         * Creates a stop table for gradients with differing numbers of stops.
+         * <p>
+         * The offsets of both gradients' stops are merged into one ascending
+         * array of offsets. Each merged offset is marked with the index of the
+         * fill-from and fill-to stop whose color is current at that offset,
+         * packed into a single {@code int} with the fill-from index in the
+         * upper 16 bits. A gradient's color changes at each merged offset
+         * where its own stop index advances.
+         */
+        private static StopTable ofDisjunct(List<Stop> from, List<Stop> to) {
+            final int fLast = from.size() - 1, tLast = to.size() - 1;
+            
+            // there can be at most as many merged offsets as stops in both gradients
+            final double[] offsets = new double[from.size() + to.size()];
+            final int[] indices = new int[offsets.length];
+            
+            // a gradient's list of stops contains at least two stops, so we start with
+            // from's and to's first stop's offset
+            double fOff = from.get(0).getOffset();
+            double tOff = to.get(0).getOffset();
+            
+            int fIdx = 0, tIdx = 0;
+            int count = 0;
+            
+            while (fIdx < fLast || tIdx < tLast) {
+                // mark the from and to stops whose colors are current at this offset
+                indices[count] = (fIdx << 16) | tIdx;
+                
+                if (fOff == tOff) {
+                    offsets[count] = fOff;
+                    
+                    // both from and to have a color change at this offset, unless one of them
+                    // is already at its last stop
+                    if (fIdx < fLast) { fOff = from.get(++fIdx).getOffset(); }
+                    if (tIdx < tLast) { tOff = to.get(++tIdx).getOffset(); }
+                    
+                } else if (fOff > tOff) {
+                    offsets[count] = tOff;
+                    
+                    // to has a color change at this offset
+                    tOff = to.get(++tIdx).getOffset();
+                    
+                } else {
+                    offsets[count] = fOff;
+                    
+                    // from has a color change at this offset
+                    fOff = from.get(++fIdx).getOffset();
+                }
+                
+                count += 1;
+            }
+            
+            // add the last offset which is '1.0'
+            offsets[count] = fOff;
+            indices[count] = (fIdx << 16) | tIdx;
+            count += 1;
+            
+            final double[] fChannels = new double[count * 4], tChannels = new double[count * 4];
+            for (int i = 0, c = 0; i < count; i++, c += 4) {
+                putChannels(from.get(indices[i] >>> 16).getColor(), fChannels, c);
+                putChannels(to.get(indices[i] & 0xFFFF).getColor(), tChannels, c);
+            }
+            
+            final double[] merged = Arrays.copyOf(offsets, count);
+            
+            return new StopTable(merged, merged, fChannels, tChannels);
+        }
+        
+        /** Gets the interpolated stops at the specified fraction. */
+        private Stop[] interpolate(double frac) {
+            final double[] fo = fOffsets, to = tOffsets, fc = fChannels, tc = tChannels;
+            final boolean sameOffsets = (fo == to);
+            
+            final Stop[] ret = new Stop[size];
+            for (int i = 0, c = 0; i < size; i++, c += 4) {
+                final double offset = sameOffsets ? fo[i] : interpolateDouble(fo[i], to[i], frac);
+                final Color color = new Color(lerp(fc[c], tc[c], frac), lerp(fc[c + 1], tc[c + 1], frac),
+                    lerp(fc[c + 2], tc[c + 2], frac), lerp(fc[c + 3], tc[c + 3], frac));
+                
+                ret[i] = new Stop(offset, color);
+            }
+            
+            return ret;
+        }
+        
+        /** Linearly interpolates a color channel, like Color#interpolate. */
+        private static double lerp(double from, double to, double frac) {
+            return (from == to) ? from : from + (to - from) * frac;
+        }
+        
+        private static double[] offsetsOf(List<Stop> stops) {
+            final double[] ret = new double[stops.size()];
+            for (int i = 0; i < ret.length; i++) { ret[i] = stops.get(i).getOffset(); }
+            
+            return ret;
+        }
+        
+        private static double[] channelsOf(List<Stop> stops) {
+            final double[] ret = new double[stops.size() * 4];
+            for (int i = 0, c = 0, n = stops.size(); i < n; i++, c += 4) { putChannels(stops.get(i).getColor(), ret, c); }
+            
+            return ret;
+        }
+        
+        private static double[] channelsOf(Color color, int count) {
+            final double[] ret = new double[count * 4];
+            for (int c = 0; c < ret.length; c += 4) { putChannels(color, ret, c); }
+            
+            return ret;
+        }
+        
+        private static void putChannels(Color color, double[] dest, int pos) {
+            dest[pos] = color.getRed();
+            dest[pos + 1] = color.getGreen();
+            dest[pos + 2] = color.getBlue();
+            dest[pos + 3] = color.getOpacity();
+        }
+        
+    } // class StopTable
     
     
     /**************************************************************************
@@ -276,16 +484,25 @@ abstract class GradientFillSpan<T extends Paint, E extends Paint> extends FillSp
      * {@link LinearGradient}.
      */
     private static final class ColorToLinearFillSpan extends GradientFillSpan<Color, LinearGradient> {
+        private final StopTable stops;
+        
         private ColorToLinearFillSpan(Paint from, Paint to) {
             super(from, to);
             
-            hash = 31 * hash + 1;
+            hash = 31 * hash + COLOR_TO_LINEAR;
+            stops = StopTable.of((Color) from, ((LinearGradient) to).getStops());
         }
         
         @Override
         public Paint interpolateImpl(double frac) {
-            return newLinearGradient(to(), interpolateStops(from(), to().getStops(), frac));
+            return newLinearGradient(to(), stops.interpolate(frac));
         }
+        
+        @Override
+        FillSpanCache.SpanKind cacheKind() { return FillSpanCache.SpanKind.COLOR_TO_LINEAR; }
+        
+        @Override
+        int estimateSize() { return SHALLOW_SIZE + 8 + StopTable.estimateSize(stops); }
     } // class ColorToLinearFillSpan
     
     
@@ -300,16 +517,25 @@ abstract class GradientFillSpan<T extends Paint, E extends Paint> extends FillSp
      * {@code to} is a {@link Color}.
      */
     private static final class LinearToColorFillSpan extends GradientFillSpan<LinearGradient, Color> {
+        private final StopTable stops;
+        
         private LinearToColorFillSpan(Paint from, Paint to) {
             super(from, to);
             
-            hash = 31 * hash + 3;
+            hash = 31 * hash + LINEAR_TO_COLOR;
+            stops = StopTable.of(((LinearGradient) from).getStops(), (Color) to);
         }
         
         @Override
         public Paint interpolateImpl(double frac) {
-            return newLinearGradient(from(), interpolateStops(from().getStops(), to(), frac));
+            return newLinearGradient(from(), stops.interpolate(frac));
         }
+        
+        @Override
+        FillSpanCache.SpanKind cacheKind() { return FillSpanCache.SpanKind.LINEAR_TO_COLOR; }
+        
+        @Override
+        int estimateSize() { return SHALLOW_SIZE + 8 + StopTable.estimateSize(stops); }
     } // class LinearToColorFillSpan
     
     
@@ -324,16 +550,25 @@ abstract class GradientFillSpan<T extends Paint, E extends Paint> extends FillSp
      * {@link RadialGradient}.
      */
     private static final class ColorToRadialFillSpan extends GradientFillSpan<Color, RadialGradient> {
+        private final StopTable stops;
+        
         private ColorToRadialFillSpan(Paint from, Paint to) {
             super(from, to);
             
-            hash = 31 * hash + 2;
+            hash = 31 * hash + COLOR_TO_RADIAL;
+            stops = StopTable.of((Color) from, ((RadialGradient) to).getStops());
         }
         
         @Override
         public Paint interpolateImpl(double frac) {
-            return newRadialGradient(to(), interpolateStops(from(), to().getStops(), frac));
+            return newRadialGradient(to(), stops.interpolate(frac));
         }
+        
+        @Override
+        FillSpanCache.SpanKind cacheKind() { return FillSpanCache.SpanKind.COLOR_TO_RADIAL; }
+        
+        @Override
+        int estimateSize() { return SHALLOW_SIZE + 8 + StopTable.estimateSize(stops); }
     } // class ColorToRadialFillSpan
     
     
@@ -348,16 +583,25 @@ abstract class GradientFillSpan<T extends Paint, E extends Paint> extends FillSp
      * is a {@link Color}.
      */
     private static final class RadialToColorFillSpan extends GradientFillSpan<RadialGradient, Color> {
+        private final StopTable stops;
+        
         private RadialToColorFillSpan(Paint from, Paint to) {
             super(from, to);
             
-            hash = 31 * hash + 6;
+            hash = 31 * hash + RADIAL_TO_COLOR;
+            stops = StopTable.of(((RadialGradient) from).getStops(), (Color) to);
         }
         
         @Override
         public Paint interpolateImpl(double frac) {
-            return newRadialGradient(from(), interpolateStops(from().getStops(), to(), frac));
+            return newRadialGradient(from(), stops.interpolate(frac));
         }
+        
+        @Override
+        FillSpanCache.SpanKind cacheKind() { return FillSpanCache.SpanKind.RADIAL_TO_COLOR; }
+        
+        @Override
+        int estimateSize() { return SHALLOW_SIZE + 8 + StopTable.estimateSize(stops); }
     } // class RadialToColorFillSpan
     
     
@@ -373,20 +617,25 @@ abstract class GradientFillSpan<T extends Paint, E extends Paint> extends FillSp
      */
     private static class LinearToLinearFillSpan extends GradientFillSpan<LinearGradient, LinearGradient> {
         private final boolean uniform;
+        // null when 'from' == 'to', which is never interpolated
+        private final StopTable stops;
         
-        private LinearToLinearFillSpan(LinearGradient from, LinearGradient to) {
+        private LinearToLinearFillSpan(LinearGradient from, LinearGradient to, StopTable stops) {
             super(from, to);
             // 'hash' is preset in FillSpan
-            hash = 31 * hash + 4;
+            hash = 31 * hash + LINEAR_TO_LINEAR;
             uniform = calculateUniform(from, to);
+            this.stops = stops;
         }
         
         private LinearToLinearFillSpan(Paint same) {
             super(same);
             // 'hash' is preset in FillSpan
-            hash = 31 * hash + 4;
+            hash = 31 * hash + LINEAR_TO_LINEAR;
             // 'from' == 'to' so this is uniform
             uniform = true;
+            // 'from' == 'to' is never interpolated
+            stops = null;
         }
         
         /** 
@@ -403,18 +652,12 @@ abstract class GradientFillSpan<T extends Paint, E extends Paint> extends FillSp
         
         @Override
         protected Paint interpolateImpl(double frac) {
-            final List<Stop> stops = interpolateStops(from().getStops(), to().getStops(), frac);
+            final Stop[] stops = this.stops.interpolate(frac);
             
             return uniform ? newLinearGradient(from(), stops) : interpolateNonUniform(stops, frac);
         }
         
-        protected List<Stop> interpolateStops(List<Stop> from, List<Stop> to, double frac) {
-            // from and to are same size so just interpolate their stops
-            return IntStream.range(0, from.size()).mapToObj(i -> interpolateStop(from.get(i), to.get(i), frac))
-                .collect(Collectors.toList());
-        }
-        
-        protected Paint interpolateNonUniform(List<Stop> stops, double frac) {
+        protected Paint interpolateNonUniform(Stop[] stops, double frac) {
             final LinearGradient f = from(), t = to();
             
             // start X
@@ -435,10 +678,17 @@ abstract class GradientFillSpan<T extends Paint, E extends Paint> extends FillSp
          * LinearToLinearDisjunctFillSpan.
          */
         private static FillSpan ofLinear(LinearGradient from, LinearGradient to) {
-            return from.getStops().size() == to.getStops().size() ? new LinearToLinearFillSpan(from, to)
+            return from.getStops().size() == to.getStops().size()
+                ? new LinearToLinearFillSpan(from, to, StopTable.of(from.getStops(), to.getStops()))
                 : new LinearToLinearDisjunctFillSpan(from, to);
         }
         
+        @Override
+        FillSpanCache.SpanKind cacheKind() { return FillSpanCache.SpanKind.LINEAR_TO_LINEAR; }
+        
+        @Override
+        int estimateSize() { return SHALLOW_SIZE + 8 + StopTable.estimateSize(stops); }
+        
     } // class LinearToLinearFillSpan
     
     
@@ -454,120 +704,12 @@ abstract class GradientFillSpan<T extends Paint, E extends Paint> extends FillSp
      * {@code to}'s lists of {@link Stop} instances differ in size.
      */
     private static final class LinearToLinearDisjunctFillSpan extends LinearToLinearFillSpan {
-        private final List<Double> offsets;
-        private long fromToBits;
-        
         private LinearToLinearDisjunctFillSpan(LinearGradient from, LinearGradient to) {
-            super(from, to);
-            
-            offsets = marryStopOffsets(from.getStops(), to.getStops());
-        }
-        
-        /**
-         * 
-         * @param from
-         * @param to
-         * @return
-         */
-        private List<Double> marryStopOffsets(List<Stop> from, List<Stop> to) {
-            // a gradient's list of stops contains at least two stops, so we start with
-            // from's and to's first stop's offset
-            double fOff = from.get(0).getOffset();
-            double tOff = to.get(0).getOffset();
-            
-            int fIdx = 0, tIdx = 0;
-            int count = 0;
-            
-            ArrayList<Double> ret = new ArrayList<>(Math.max(from.size(), to.size()));
-            while (fIdx < from.size() - 1 || tIdx < to.size() - 1) {
-                
-                if (fOff == tOff) {
-                    ret.add(fOff);
-                    
-                    // mark that both from and to have a color change at this offset
-                    setFromBit(count);
-                    setToBit(count);
-                    
-                    // get from's and to's next stop's offset
-                    fOff = from.get(++fIdx).getOffset();
-                    tOff = to.get(++tIdx).getOffset();
-                    
-                } else if (fOff > tOff) {
-                    ret.add(tOff);
-                    
-                    // mark that to has a color change at this offset
-                    setToBit(count);
-                    
-                    // get to's next stop's offset
-                    tOff = to.get(++tIdx).getOffset();
-                    
-                } else if (fOff < tOff) {
-                    ret.add(fOff);
-                    
-                    // mark that from has a color change at this offset
-                    setFromBit(count);
-                    
-                    // get from's next stop's offset
-                    fOff = from.get(++fIdx).getOffset();
-                }
-                
-                // keep track of current offset count so we can mark bits
-                count += 1;
-            }
-            
-            // add the last offset which is '1.0'
-            ret.add(fOff);
-            
-            // we won't be adding any more offsets, so save some space
-            ret.trimToSize();
-            
-            return ret;
+            super(from, to, StopTable.ofDisjunct(from.getStops(), to.getStops()));
         }
         
         @Override
-        protected List<Stop> interpolateStops(List<Stop> fStops, List<Stop> tStops, double frac) {
-            boolean fIsNew = false, tIsNew = false;
-            int fIdx = 0, tIdx = 0;
-            
-            Color fColor = fStops.get(0).getColor();
-            Color tColor = tStops.get(0).getColor();
-            
-            final List<Stop> ret = new ArrayList<Stop>(offsets.size());
-            for (int i = 0, n = offsets.size(); i < n; i++) {
-                if (fIsNew) { fColor = fStops.get(++fIdx).getColor(); }
-                if (tIsNew) { tColor = tStops.get(++tIdx).getColor(); }
-                
-                ret.add(new Stop(offsets.get(i), fColor.interpolate(tColor, frac)));
-                
-                fIsNew = fromBitIsSet(i);
-                tIsNew = toBitIsSet(i);
-            }
-            
-            return ret;
-        }
-        
-        /**
-         * Sets a specified 'from' bit in {@code fromToBits} to {@code 1}.
-         */
-        private void setFromBit(int which) { fromToBits |= (1 << which); }
-        
-        /** 
-         * Gets whether or not a specified 'from' bit in {@code fromToBits} is
-         *  {@code 1}.
-         */
-        private boolean fromBitIsSet(int which) { return (fromToBits & (1 << which)) != 0; }
-        
-        /**
-         * Sets a specified 'to' bit in {@code fromToBits} to {@code 1}.
-         */
-        private void setToBit(int which) { fromToBits |= (1L << (32 + which)); }
-        
-        /**
-         * Gets whether or not a specified 'to' bit in {@code fromToBits} is {@code 1}.
-         */
-        private boolean toBitIsSet(int which) { return (fromToBits & (1L << (32 + which))) != 0; }
-        
-        
+        FillSpanCache.SpanKind cacheKind() { return FillSpanCache.SpanKind.LINEAR_TO_LINEAR_DISJUNCT; }
     } // class LinearToLinearDisjunctFillSpan
     
     
@@ -583,17 +725,21 @@ abstract class GradientFillSpan<T extends Paint, E extends Paint> extends FillSp
      */
     private static class RadialToRadialFillSpan extends GradientFillSpan<RadialGradient, RadialGradient> {
         private final boolean uniform;
+        // null when 'from' == 'to', which is never interpolated
+        private final StopTable stops;
         
-        private RadialToRadialFillSpan(RadialGradient from, RadialGradient to) {
+        private RadialToRadialFillSpan(RadialGradient from, RadialGradient to, StopTable stops) {
             super(from, to);
-            hash = 31 * hash + 8;
+            hash = 31 * hash + RADIAL_TO_RADIAL;
             uniform = calculateUniform(from, to);
+            this.stops = stops;
         }
         
         private RadialToRadialFillSpan(Paint same) {
             super(same);
-            hash = 31 * hash + 8;
+            hash = 31 * hash + RADIAL_TO_RADIAL;
             uniform = true;
+            stops = null;
         }
         
         /** 
@@ -610,18 +756,12 @@ abstract class GradientFillSpan<T extends Paint, E extends Paint> extends FillSp
         
         @Override
         protected Paint interpolateImpl(double frac) {
-            final List<Stop> stops = interpolateStops(from().getStops(), to().getStops(), frac);
+            final Stop[] stops = this.stops.interpolate(frac);
             
             return uniform ? newRadialGradient(from(), stops) : interpolateNonUniform(stops, frac);
         }
         
-        protected List<Stop> interpolateStops(List<Stop> from, List<Stop> to, double frac) {
-            // from and to are same size so just interpolate their stops
-            return IntStream.range(0, from.size()).mapToObj(i -> interpolateStop(from.get(i), to.get(i), frac))
-                .collect(Collectors.toList());
-        }
-        
-        private Paint interpolateNonUniform(List<Stop> stops, double frac) {
+        private Paint interpolateNonUniform(Stop[] stops, double frac) {
             final RadialGradient f = from(), t = to();
             
             // focus angle
@@ -645,10 +785,17 @@ abstract class GradientFillSpan<T extends Paint, E extends Paint> extends FillSp
          * RadialToRadialDisjunctFillSpan.
          */
         private static FillSpan ofRadial(RadialGradient from, RadialGradient to) {
-            return from.getStops().size() == to.getStops().size() ? new RadialToRadialFillSpan(from, to)
+            return from.getStops().size() == to.getStops().size()
+                ? new RadialToRadialFillSpan(from, to, StopTable.of(from.getStops(), to.getStops()))
                 : new RadialToRadialDisjunctFillSpan(from, to);
         }
         
+        @Override
+        FillSpanCache.SpanKind cacheKind() { return FillSpanCache.SpanKind.RADIAL_TO_RADIAL; }
+        
+        @Override
+        int estimateSize() { return SHALLOW_SIZE + 8 + StopTable.estimateSize(stops); }
+        
     } // class RadialToRadialFillSpan
     
     
@@ -664,121 +811,12 @@ abstract class GradientFillSpan<T extends Paint, E extends Paint> extends FillSp
      * {@code to}'s lists of {@link Stop} instances differ in size.
      */
     private static class RadialToRadialDisjunctFillSpan extends RadialToRadialFillSpan {
-        private final List<Double> offsets;
-        private long fromToBits;
-        
-        
         RadialToRadialDisjunctFillSpan(RadialGradient from, RadialGradient to) {
-            super(from, to);
-            
-            offsets = marryStopOffsets(from.getStops(), to.getStops());
-        }
-        
-        /**
-         * 
-         * @param from
-         * @param to
-         * @return
-         */
-        private List<Double> marryStopOffsets(List<Stop> from, List<Stop> to) {
-            // a gradient's list of stops contains at least two stops, so we start with
-            // from's and to's first stop's offset
-            double fOff = from.get(0).getOffset();
-            double tOff = to.get(0).getOffset();
-            
-            int fIdx = 0, tIdx = 0;
-            int count = 0;
-            
-            ArrayList<Double> ret = new ArrayList<>(Math.max(from.size(), to.size()));
-            while (fIdx < from.size() - 1 || tIdx < to.size() - 1) {
-                
-                if (fOff == tOff) {
-                    ret.add(fOff);
-                    
-                    // mark that both from and to have a color change at this offset
-                    setFromBit(count);
-                    setToBit(count);
-                    
-                    // get from's and to's next stop's offset
-                    fOff = from.get(++fIdx).getOffset();
-                    tOff = to.get(++tIdx).getOffset();
-                    
-                } else if (fOff > tOff) {
-                    ret.add(tOff);
-                    
-                    // mark that to has a color change at this offset
-                    setToBit(count);
-                    
-                    // get to's next stop's offset
-                    tOff = to.get(++tIdx).getOffset();
-                    
-                } else if (fOff < tOff) {
-                    ret.add(fOff);
-                    
-                    // mark that from has a color change at this offset
-                    setFromBit(count);
-                    
-                    // get from's next stop's offset
-                    fOff = from.get(++fIdx).getOffset();
-                }
-                
-                // keep track of current offset count so we can mark bits
-                count += 1;
-            }
-            
-            // add the last offset which is '1.0'
-            ret.add(fOff);
-            
-            // we won't be adding any more offsets, so save some space
-            ret.trimToSize();
-            
-            return ret;
+            super(from, to, StopTable.ofDisjunct(from.getStops(), to.getStops()));
         }
         
         @Override
-        protected List<Stop> interpolateStops(List<Stop> fStops, List<Stop> tStops, double frac) {
-            boolean fIsNew = false, tIsNew = false;
-            int fIdx = 0, tIdx = 0;
-            
-            Color fColor = fStops.get(0).getColor();
-            Color tColor = tStops.get(0).getColor();
-            
-            final List<Stop> ret = new ArrayList<Stop>(offsets.size());
-            for (int i = 0, n = offsets.size(); i < n; i++) {
-                fColor = fIsNew ? fStops.get(++fIdx).getColor() : fColor;
-                tColor = tIsNew ? tStops.get(++tIdx).getColor() : tColor;
-                
-                ret.add(new Stop(offsets.get(i), fColor.interpolate(tColor, frac)));
-                
-                fIsNew = fromBitIsSet(i);
-                tIsNew = toBitIsSet(i);
-            }
-            
-            return ret;
-        }
-        
-        /**
-         * Sets a specified 'from' bit in {@code fromToBits} to {@code 1}.
-         */
-        private void setFromBit(int which) { fromToBits |= (1 << which); }
-        
-        /** 
-         * Gets whether or not a specified 'from' bit in {@code fromToBits} is
-         *  {@code 1}.
-         */
-        private boolean fromBitIsSet(int which) { return (fromToBits & (1 << which)) != 0; }
-        
-        /**
-         * Sets a specified 'to' bit in {@code fromToBits} to {@code 1}.
-         */
-        private void setToBit(int which) { fromToBits |= (1L << (32 + which)); }
-        
-        /**
-         * Gets whether or not a specified 'to' bit in {@code fromToBits} is {@code 1}.
-         */
-        private boolean toBitIsSet(int which) { return (fromToBits & (1L << (32 + which))) != 0; }
-        
-        
+        FillSpanCache.SpanKind cacheKind() { return FillSpanCache.SpanKind.RADIAL_TO_RADIAL_DISJUNCT; }
     } // class RadialToRadialDisjunctFillSpan
     
     
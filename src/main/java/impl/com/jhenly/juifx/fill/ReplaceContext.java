@@ -0,0 +1,142 @@
+/** Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License. */
+package impl.com.jhenly.juifx.fill;
+
+import java.util.List;
+
+import com.jhenly.juifx.control.Fillable;
+
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.Border;
+import javafx.scene.layout.BorderStroke;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.Shape;
+
+
+/**
+ * A {@code ReplaceContext} is an immutable snapshot of the paints used to
+ * replace the special identifiers ({@code USE_BG}, {@code USE_BORDER},
+ * {@code USE_TEXT}, {@code USE_SHAPE} and {@code USE_STROKE}) in a
+ * {@link Fill}.
+ * <p>
+ * Because a {@code ReplaceContext} is immutable and holds no reference to a
+ * node, special identifiers can be replaced on any thread and any number of
+ * replacements can run concurrently. A context is either snapshotted from a
+ * {@link Fillable} via {@link #of(Fillable)}, which must be done on the
+ * thread that owns the {@code Fillable}, or created directly from paints via
+ * {@link #of(Background, Border, Paint, Paint, Paint)}, e.g. to precompute
+ * fills in the background.
+ *
+ * @author Jonathan Henly
+ * @since JuiFX 1.0
+ *
+ * @see FillHelper#replaceSpecialsInFill(Fill, ReplaceContext)
+ */
+public final class ReplaceContext {
+    
+    /**************************************************************************
+     *                                                                        *
+     * Private Members                                                        *
+     *                                                                        *
+     *************************************************************************/
+    
+    private final List<BackgroundFill> bgFills;
+    private final List<BorderStroke> bdStrokes;
+    private final Paint textFill;
+    private final Paint shapeFill;
+    private final Paint strokeFill;
+    
+    
+    /**************************************************************************
+     *                                                                        *
+     * Constructor(s) / Factory Methods                                       *
+     *                                                                        *
+     *************************************************************************/
+    
+    private ReplaceContext(Background bg, Border bd, Paint textFill, Paint shapeFill, Paint strokeFill) {
+        // background fills and border strokes are immutable lists
+        bgFills = (bg == null) ? List.of() : bg.getFills();
+        bdStrokes = (bd == null) ? List.of() : bd.getStrokes();
+        
+        this.textFill = textFill;
+        this.shapeFill = shapeFill;
+        this.strokeFill = strokeFill;
+    }
+    
+    /**
+     * Snapshots the background, border, text fill and shape paints of a
+     * specified {@link Fillable}.
+     * <p>
+     * This method reads the {@code Fillable}'s properties, so it should be
+     * invoked on the JavaFX Application Thread if the {@code Fillable} is part
+     * of a live scene graph. The returned context can then be used on any
+     * thread.
+     *
+     * @param fable - the {@code Fillable} to snapshot
+     * @return a context holding the {@code Fillable}'s current paints
+     * @throws NullPointerException if {@code fable} is {@code null}
+     */
+    public static ReplaceContext of(Fillable fable) {
+        final Shape shape = fable.getShape();
+        
+        // 'shape.getFill()' and 'shape.getStroke()' can return null
+        final Paint shapeFill = (shape == null) ? null : shape.getFill();
+        final Paint strokeFill = (shape == null) ? null : shape.getStroke();
+        
+        return new ReplaceContext(fable.getBackground(), fable.getBorder(), fable.getTextFill(), shapeFill,
+            strokeFill);
+    }
+    
+    /**
+     * Creates a context from the specified paints.
+     * <p>
+     * Any of the parameters can be {@code null}, special identifiers that
+     * resolve to a {@code null} paint are replaced with a transparent color.
+     *
+     * @param bg - the background used to replace {@code USE_BG}
+     * @param bd - the border used to replace {@code USE_BORDER}
+     * @param textFill - the paint used to replace {@code USE_TEXT}
+     * @param shapeFill - the paint used to replace {@code USE_SHAPE}
+     * @param strokeFill - the paint used to replace {@code USE_STROKE}
+     * @return a context holding the specified paints
+     */
+    public static ReplaceContext of(Background bg, Border bd, Paint textFill, Paint shapeFill, Paint strokeFill) {
+        return new ReplaceContext(bg, bd, textFill, shapeFill, strokeFill);
+    }
+    
+    
+    /**************************************************************************
+     *                                                                        *
+     * Package Private API                                                    *
+     *                                                                        *
+     *************************************************************************/
+    
+    /** @return the background fills, never {@code null} */
+    List<BackgroundFill> bgFills() { return bgFills; }
+    
+    /** @return the border strokes, never {@code null} */
+    List<BorderStroke> bdStrokes() { return bdStrokes; }
+    
+    /** @return the text fill, can be {@code null} */
+    Paint textFill() { return textFill; }
+    
+    /** @return the shape's fill, can be {@code null} */
+    Paint shapeFill() { return shapeFill; }
+    
+    /** @return the shape's stroke, can be {@code null} */
+    Paint strokeFill() { return strokeFill; }
+    
+}
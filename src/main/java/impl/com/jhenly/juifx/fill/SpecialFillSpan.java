@@ -38,19 +38,12 @@ final class SpecialFillSpan extends FillSpan {
      * Uses the regular {@code FillSpan} constructor.
      * @param from - the color to set {@code from} to
      * @param to - the color to set {@code to} to
-     * @param fSpec - whether or not fill-from is a special identifier
-     * @param tSpec - whether or not fill-to is a special identifier
-     * @param fIndex - the index of the fill to replace the fill-from with
-     * @param tIndex - the index of the fill to replace the fill-to with
-     * @param fBsPos - the from border stroke position
-     * @param tBsPos - the to border stroke position
+     * @param specAtts - the bit packed special attributes
      */
-    private SpecialFillSpan(Paint from, Paint to, boolean fSpec, boolean tSpec, int fIndex, int tIndex,
-                            BorderStrokePosition fBsPos, BorderStrokePosition tBsPos)
-    {
+    private SpecialFillSpan(Paint from, Paint to, int specAtts) {
         super(from, to);
         
-        specAtts = bitPackSpecialAttributes(fSpec, tSpec, fIndex, tIndex, fBsPos, tBsPos);
+        this.specAtts = specAtts;
         // 'hash' is set in 'super(from, to)'
         hash = 31 * hash + specAtts;
     }
@@ -59,14 +52,12 @@ final class SpecialFillSpan extends FillSpan {
      * Uses the {@code FillSpan} constructor that doesn't check for
      * equality.
      * @param same - the color to set {@code from} and {@code to} to
-     * @param index - the index of the fill to replace fill-from and fill-to
-     *        with
-     * @param bsPos - the border stroke position for from and to
+     * @param specAtts - the bit packed special attributes
      */
-    private SpecialFillSpan(Paint same, int index, BorderStrokePosition bsPos) {
+    private SpecialFillSpan(Paint same, int specAtts) {
         super(same);
         
-        specAtts = bitPackSpecialAttributes(true, index, bsPos);
+        this.specAtts = specAtts;
         // 'hash' is set in 'super(same)'
         hash = 31 * hash + specAtts;
     }
@@ -85,6 +76,14 @@ final class SpecialFillSpan extends FillSpan {
     @Override
     boolean isSpecial() { return true; }
     
+    /** {@inheritDoc} */
+    @Override
+    FillSpanCache.SpanKind cacheKind() { return FillSpanCache.SpanKind.SPECIAL; }
+    
+    /** {@inheritDoc} */
+    @Override
+    int estimateSize() { return SHALLOW_SIZE + 8; }
+    
     /**
      * Gets whether or not fill-from is a special identifier.
      * @return {@code true} if fill-from is a special identifier, otherwise
@@ -138,6 +137,13 @@ final class SpecialFillSpan extends FillSpan {
         return index != 255 ? index : -1;
     }
     
+    /** 
+     * {@inheritDoc}
+     * @return the bit packed special attributes
+     */
+    @Override
+    int keyAttributes() { return specAtts; }
+    
     /** {@inheritDoc} */
     @Override
     public int hashCode() { return hash; }
@@ -171,7 +177,7 @@ final class SpecialFillSpan extends FillSpan {
      *         colors
      */
     static FillSpan of(Paint from, Paint to, boolean fromIsSpecial, boolean toIsSpecial) {
-        return getFromCache(new SpecialFillSpan(from, to, fromIsSpecial, toIsSpecial, -1, -1, null, null));
+        return getFromCache(from, to, bitPackSpecialAttributes(fromIsSpecial, toIsSpecial, -1, -1, null, null));
     }
     
     /**
@@ -182,7 +188,7 @@ final class SpecialFillSpan extends FillSpan {
      *        with
      */
     static FillSpan of(Paint same) {
-        return getFromCache(new SpecialFillSpan(same, -1, null));
+        return getFromCache(same, bitPackSpecialAttributes(true, -1, null));
     }
     
     /**
@@ -198,7 +204,7 @@ final class SpecialFillSpan extends FillSpan {
      *         colors
      */
     static FillSpan of(Paint from, Paint to, boolean fromIsSpecial, boolean toIsSpecial, int fIndex, int tIndex) {
-        return getFromCache(new SpecialFillSpan(from, to, fromIsSpecial, toIsSpecial, fIndex, tIndex, null, null));
+        return getFromCache(from, to, bitPackSpecialAttributes(fromIsSpecial, toIsSpecial, fIndex, tIndex, null, null));
     }
     
     /**
@@ -211,7 +217,7 @@ final class SpecialFillSpan extends FillSpan {
      *         color
      */
     static FillSpan of(Paint same, int index) {
-        return getFromCache(new SpecialFillSpan(same, index, null));
+        return getFromCache(same, bitPackSpecialAttributes(true, index, null));
     }
     
     /**
@@ -231,7 +237,7 @@ final class SpecialFillSpan extends FillSpan {
     static FillSpan of(Paint from, Paint to, boolean fSpec, boolean tSpec, int fIndex, int tIndex,
                        BorderStrokePosition fBsPos, BorderStrokePosition tBsPos)
     {
-        return getFromCache(new SpecialFillSpan(from, to, fSpec, tSpec, fIndex, tIndex, fBsPos, tBsPos));
+        return getFromCache(from, to, bitPackSpecialAttributes(fSpec, tSpec, fIndex, tIndex, fBsPos, tBsPos));
     }
     
     /**
@@ -249,7 +255,21 @@ final class SpecialFillSpan extends FillSpan {
      *         colors
      */
     static FillSpan of(Paint same, int index, BorderStrokePosition bsPos) {
-        return getFromCache(new SpecialFillSpan(same, index, bsPos));
+        return getFromCache(same, bitPackSpecialAttributes(true, index, bsPos));
+    }
+    
+    // cache miss factories, non-capturing so lookups don't allocate
+    private static final FillSpanCache.SpanFactory FACTORY = SpecialFillSpan::new;
+    private static final FillSpanCache.SpanFactory SAME_FACTORY = (f, t, atts) -> new SpecialFillSpan(f, atts);
+    
+    /** Gets a cached special fill span without allocating a probe span. */
+    private static FillSpan getFromCache(Paint from, Paint to, int specAtts) {
+        return getFromCache(31 * hashOf(from, to) + specAtts, from, to, specAtts, FACTORY);
+    }
+    
+    /** Gets a cached special fill span with the same fill-from and fill-to. */
+    private static FillSpan getFromCache(Paint same, int specAtts) {
+        return getFromCache(31 * hashOf(same, same) + specAtts, same, same, specAtts, SAME_FACTORY);
     }
     
     
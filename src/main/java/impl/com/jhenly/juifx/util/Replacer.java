@@ -6,24 +6,29 @@ package impl.com.jhenly.juifx.util;
  * Replacers are objects that are used to replace some aspect(s) of an object
  * by returning the same, or another object of the same type, with the replaced
  * aspect(s).
+ * <p>
+ * Everything a replacement depends on is passed to
+ * {@link #replace(Object, Object)} via an immutable context, so replacers
+ * hold no per-call state and a single replacer instance can be shared by any
+ * number of threads.
  *
- * @param <T> - the type of the return type of the {@link #replace()} method
+ * @param <T> - the type of the return type of the {@link #replace} method
+ * @param <C> - the type of the context the replacement aspect(s) are taken
+ *        from
  * 
  * @author Jonathan Henly
  * @since JavaFX 1.0
  */
 @FunctionalInterface
-public interface Replacer<T> {
+public interface Replacer<T, C> {
     /**
      * Replaces some aspect(s) of a specified object and returns the same
      * object, or another object of the same type, with the replaced aspect(s).
      * @param toReplace - the object to replace some aspect(s) of, or to
      *        replace entirely
+     * @param context - the context to take the replacement aspect(s) from
      * @return an object with some aspect(s) replaced
      */
-    T replace(T toReplace);
-    
-    
-    default <E> Replacer<T> using(E obj) { return this; }
+    T replace(T toReplace, C context);
     
 }
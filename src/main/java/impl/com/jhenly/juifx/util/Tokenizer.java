@@ -0,0 +1,207 @@
+package impl.com.jhenly.juifx.util;
+
+/**
+ * Single pass tokenizer that splits a {@link CharSequence} on a delimiter
+ * character, without copying the sequence or creating intermediate strings.
+ * <p>
+ * Delimiters inside a pair of parentheses ({@code (...)}) or brackets
+ * ({@code [...]}) do not split, pairs may nest. Each token is trimmed of
+ * leading and trailing whitespace and empty tokens are skipped, so splitting
+ * {@code " red , linear-gradient(red, blue) ,, bg[1]"} on {@code ','}
+ * yields {@code "red"}, {@code "linear-gradient(red, blue)"} and
+ * {@code "bg[1]"}. If the delimiter is a whitespace character then any run
+ * of whitespace outside of parentheses and brackets separates tokens.
+ * <p>
+ * Tokens are reported as offsets into the sequence via {@link #start()} and
+ * {@link #end()}, a token is only turned into a string when
+ * {@link #token()} is invoked:
+ * <pre>
+ * Tokenizer tokens = new Tokenizer(value, ',');
+ * while (tokens.next()) {
+ *     parse(value, tokens.start(), tokens.end());
+ * }</pre>
+ *
+ * @author Jonathan Henly
+ * @since JuiFX 1.0
+ */
+public final class Tokenizer {
+    
+    private final CharSequence seq;
+    private final char delim;
+    private final boolean wsDelim;
+    private final int limit;
+    
+    // next position to scan from
+    private int pos;
+    // current token's offsets
+    private int start, end;
+    
+    /**
+     * Creates a tokenizer over a specified character sequence.
+     *
+     * @param seq - the character sequence to tokenize
+     * @param delim - the character that separates tokens
+     */
+    public Tokenizer(CharSequence seq, char delim) { this(seq, 0, seq.length(), delim); }
+    
+    /**
+     * Creates a tokenizer over a region of a specified character sequence.
+     *
+     * @param seq - the character sequence to tokenize
+     * @param from - the index of the region's first character
+     * @param to - the index after the region's last character
+     * @param delim - the character that separates tokens
+     * @throws IndexOutOfBoundsException if the region is not within the
+     *         sequence
+     */
+    public Tokenizer(CharSequence seq, int from, int to, char delim) {
+        if (from < 0 || to > seq.length() || from > to) {
+            throw new IndexOutOfBoundsException("region [" + from + ", " + to + ") is out of bounds");
+        }
+        
+        this.seq = seq;
+        this.delim = delim;
+        wsDelim = Character.isWhitespace(delim);
+        limit = to;
+        pos = start = end = from;
+    }
+    
+    /**
+     * Advances to the next token.
+     *
+     * @return {@code true} if there was another token, otherwise
+     *         {@code false}
+     */
+    public boolean next() {
+        final CharSequence s = seq;
+        
+        // skip leading whitespace and empty tokens
+        while (pos < limit) {
+            final char c = s.charAt(pos);
+            if (c != delim && !isWhitespace(c)) { break; }
+            pos += 1;
+        }
+        if (pos >= limit) { return false; }
+        
+        start = pos;
+        int last = pos, parens = 0, brackets = 0;
+        
+        for (; pos < limit; pos++) {
+            final char c = s.charAt(pos);
+            
+            if (parens == 0 && brackets == 0 && isDelim(c, delim, wsDelim)) { break; }
+            
+            switch (c) {
+                case '(':
+                    parens += 1;
+                    break;
+                case ')':
+                    if (parens > 0) { parens -= 1; }
+                    break;
+                case '[':
+                    brackets += 1;
+                    break;
+                case ']':
+                    if (brackets > 0) { brackets -= 1; }
+                    break;
+                default:
+                    break;
+            }
+            
+            if (!isWhitespace(c)) { last = pos; }
+        }
+        
+        end = last + 1;
+        
+        // step over the delimiter
+        if (pos < limit) { pos += 1; }
+        
+        return true;
+    }
+    
+    /**
+     * Gets the index of the current token's first character.
+     * @return the current token's start offset
+     */
+    public int start() { return start; }
+    
+    /**
+     * Gets the index after the current token's last character.
+     * @return the current token's end offset
+     */
+    public int end() { return end; }
+    
+    /**
+     * Gets the current token as a string.
+     * @return the current token
+     */
+    public String token() { return seq.subSequence(start, end).toString(); }
+    
+    /**
+     * Counts the tokens in a specified character sequence, without creating
+     * a tokenizer.
+     *
+     * @param seq - the character sequence to count the tokens of
+     * @param delim - the character that separates tokens
+     * @return the number of tokens {@link #next()} would advance through
+     */
+    public static int count(CharSequence seq, char delim) { return count(seq, 0, seq.length(), delim); }
+    
+    /**
+     * Counts the tokens in a region of a specified character sequence,
+     * without creating a tokenizer.
+     *
+     * @param seq - the character sequence to count the tokens of
+     * @param from - the index of the region's first character
+     * @param to - the index after the region's last character
+     * @param delim - the character that separates tokens
+     * @return the number of tokens {@link #next()} would advance through
+     */
+    public static int count(CharSequence seq, int from, int to, char delim) {
+        final boolean wsDelim = Character.isWhitespace(delim);
+        int count = 0, parens = 0, brackets = 0;
+        boolean inToken = false;
+        
+        for (int i = from; i < to; i++) {
+            final char c = seq.charAt(i);
+            
+            if (parens == 0 && brackets == 0 && isDelim(c, delim, wsDelim)) {
+                inToken = false;
+                continue;
+            }
+            
+            switch (c) {
+                case '(':
+                    parens += 1;
+                    break;
+                case ')':
+                    if (parens > 0) { parens -= 1; }
+                    break;
+                case '[':
+                    brackets += 1;
+                    break;
+                case ']':
+                    if (brackets > 0) { brackets -= 1; }
+                    break;
+                default:
+                    break;
+            }
+            
+            if (!inToken && !isWhitespace(c)) {
+                inToken = true;
+                count += 1;
+            }
+        }
+        
+        return count;
+    }
+    
+    /** Whitespace delimiters split on any whitespace character. */
+    private static boolean isDelim(char c, char delim, boolean wsDelim) {
+        return c == delim || (wsDelim && isWhitespace(c));
+    }
+    
+    /** Skips the full whitespace check for printable ASCII characters. */
+    private static boolean isWhitespace(char c) { return (c <= ' ' || c >= 0x7F) && Character.isWhitespace(c); }
+    
+}